@@ -0,0 +1,85 @@
+package bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+
+/**
+ * Resolves the board names used as benchmark parameters to board files.
+ *
+ * Names test1 through test6 refer to the files in the test folder. Names
+ * gen9, gen16 and gen25 refer to generated boards of that dimension, written
+ * to a temporary file from a fixed seed so every run benchmarks the same
+ * puzzle.
+ *
+ * @author Frank Dattalo
+ */
+final class Boards {
+
+	/**
+	 * Seed of the generated boards and of the benchmarks' random generators.
+	 */
+	static final long SEED = 42;
+
+	/**
+	 * Fraction of the cells which are kept as givens on generated boards.
+	 */
+	private static final double GIVENS = 0.4;
+
+	private Boards() {
+	}
+
+	/**
+	 * @param name
+	 *            - the board name.
+	 * @return The location of the board file.
+	 */
+	static String path(String name) {
+		if (name.startsWith("gen")) {
+			return generate(Integer.parseInt(name.substring(3)));
+		}
+
+		final String file = name + ".txt";
+		for (final String dir : new String[] { "test", "../test" }) {
+			final File f = new File(dir, file);
+			if (f.exists()) {
+				return f.getPath();
+			}
+		}
+
+		throw new IllegalArgumentException("Board not found: " + name);
+	}
+
+	/**
+	 * Writes a valid puzzle of the given dimension. The board file format only
+	 * holds single digits, so larger values are always left empty.
+	 */
+	private static String generate(int dimension) {
+		final int partitionSize = (int) Math.sqrt(dimension);
+		final Random random = new Random(SEED);
+
+		try {
+			final File f = File.createTempFile("sodoku" + dimension + "-", ".txt");
+			f.deleteOnExit();
+
+			try (PrintWriter out = new PrintWriter(f)) {
+				out.println(dimension);
+				for (int row = 0; row < dimension; row++) {
+					final StringBuilder line = new StringBuilder();
+					for (int column = 0; column < dimension; column++) {
+						final int value = (partitionSize * (row % partitionSize) + row / partitionSize + column)
+								% dimension + 1;
+						final boolean given = value <= 9 && random.nextDouble() < GIVENS;
+						line.append(given ? (char) ('0' + value) : '*');
+					}
+					out.println(line);
+				}
+			}
+
+			return f.getPath();
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package bench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import annealing.SimulatedAnnealingSearcher;
+import exact.BacktrackingSearcher;
+import genetic.AdaptiveController;
+import genetic.GeneticAlgorithmSearcher;
+import genetic.SteadyStateGeneticAlgorithmSearcher;
+import hillclimb.HillClimbSearcher;
+import shared.SearchListener;
+import shared.Sodoku;
+import shared.SodokuGA;
+import tabu.TabuSearcher;
+
+/**
+ * End to end benchmarks of the searchers, each invocation solving one board
+ * from scratch.
+ *
+ * @author Frank Dattalo
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SearchBenchmark {
+
+	@State(Scope.Thread)
+	public static class HillClimb {
+		@Param({ "test1", "test2", "test3", "test4", "test5", "test6", "gen9", "gen16", "gen25" })
+		public String board;
+
+		private Sodoku problem;
+
+		@Setup
+		public void setup() {
+			problem = new Sodoku(Boards.path(board));
+		}
+	}
+
+	/**
+	 * The Genetic Algorithm only returns once it solves the board, so it is
+	 * only benchmarked on the small boards it reliably solves.
+	 */
+	@State(Scope.Thread)
+	public static class Genetic {
+		@Param({ "test1", "test2", "test3", "test4", "test5", "test6" })
+		public String smallBoard;
+
+		private SodokuGA problem;
+
+		@Setup
+		public void setup() {
+			problem = new SodokuGA(Boards.path(smallBoard));
+		}
+	}
+
+	@Benchmark
+	public byte[] hillClimbSearch(HillClimb state) {
+		return new HillClimbSearcher<Sodoku, byte[]>(10).search(state.problem);
+	}
+
+	@Benchmark
+	public byte[] parallelScanHillClimbSearch(HillClimb state) {
+		return new HillClimbSearcher<Sodoku, byte[]>(10, ForkJoinPool.commonPool(), SearchListener.none())
+				.search(state.problem);
+	}
+
+	@Benchmark
+	public byte[] annealingSearch(HillClimb state) {
+		return new SimulatedAnnealingSearcher<Sodoku, byte[]>(10_000_000L).search(state.problem);
+	}
+
+	@Benchmark
+	public byte[] tabuSearch(HillClimb state) {
+		return new TabuSearcher<Sodoku, byte[]>(100_000).search(state.problem);
+	}
+
+	@Benchmark
+	public byte[] exactSearch(HillClimb state) {
+		return new BacktrackingSearcher<Sodoku>().search(state.problem);
+	}
+
+	@Benchmark
+	public byte[] geneticAlgorithmSearch(Genetic state) {
+		return new GeneticAlgorithmSearcher<SodokuGA, byte[]>(10).search(state.problem);
+	}
+
+	@Benchmark
+	public byte[] adaptiveGeneticAlgorithmSearch(Genetic state) {
+		return new GeneticAlgorithmSearcher<SodokuGA, byte[]>(
+				AdaptiveController.populationSize(state.problem.getBoard().getFreeCellCount()),
+				AdaptiveController.defaults(), SearchListener.none()).search(state.problem);
+	}
+
+	@Benchmark
+	public byte[] steadyStateSearch(Genetic state) {
+		return new SteadyStateGeneticAlgorithmSearcher<SodokuGA, byte[]>(10, 0.2).search(state.problem);
+	}
+}
@@ -0,0 +1,88 @@
+package bench;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import shared.Board;
+import shared.BoardRenderer;
+import shared.CellEncoding;
+import shared.Sodoku;
+
+/**
+ * Benchmarks of the Sodoku problem's evaluation and neighborhood.
+ *
+ * @author Frank Dattalo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SodokuBenchmark {
+
+	@Param({ "test1", "test2", "test3", "test4", "test5", "test6", "gen9", "gen16", "gen25" })
+	public String board;
+
+	private Sodoku problem;
+
+	private byte[] state;
+
+	private BoardRenderer renderer;
+
+	private ByteBuffer buffer;
+
+	@Setup
+	public void setup() {
+		problem = new Sodoku(Boards.path(board));
+		state = problem.getInitialState(new SplittableRandom(Boards.SEED));
+		renderer = new BoardRenderer(CellEncoding.DELIMITED);
+		buffer = ByteBuffer.allocateDirect(renderer.maxLineLength(problem.getBoard().getDimension()));
+	}
+
+	@Benchmark
+	public int evaluateState() {
+		return problem.evaluateState(state);
+	}
+
+	@Benchmark
+	public int conflictTableScore() {
+		return problem.conflictTable(state).getScore();
+	}
+
+	@Benchmark
+	public Collection<byte[]> getSuccessors() {
+		return problem.getSuccessors(state);
+	}
+
+	@Benchmark
+	public Board mergeWithVector() {
+		return problem.getBoard().mergeWithVector(state);
+	}
+
+	@Benchmark
+	public String mergeAndToString() {
+		return problem.getBoard().mergeWithVector(state).toString();
+	}
+
+	@Benchmark
+	public ByteBuffer render() {
+		buffer.clear();
+		renderer.render(problem.getBoard(), state, buffer);
+		return buffer;
+	}
+}
@@ -0,0 +1,91 @@
+package bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import shared.Board;
+import shared.Population;
+import shared.SodokuGA;
+
+/**
+ * Benchmarks of the Sodoku Genetic Algorithm operators. The completed board
+ * test5 is left out since it has no genes to mutate or cross over.
+ *
+ * @author Frank Dattalo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SodokuGABenchmark {
+
+	@Param({ "test1", "test2", "test3", "test4", "test6", "gen9", "gen16", "gen25" })
+	public String board;
+
+	@Param({ "10", "1000" })
+	public int populationSize;
+
+	private final SplittableRandom random = new SplittableRandom(Boards.SEED);
+
+	private SodokuGA problem;
+
+	private SodokuGA cachedProblem;
+
+	private Population<byte[]> population;
+
+	private byte[] x;
+
+	private byte[] y;
+
+	@Setup
+	public void setup() {
+		problem = new SodokuGA(Boards.path(board));
+		cachedProblem = new SodokuGA(Board.create(Boards.path(board)), 1 << 12);
+		population = problem.getInitialPopulation(populationSize, random);
+		x = population.get(0);
+		y = population.get(populationSize - 1);
+	}
+
+	@Benchmark
+	public byte[] proportionalSelect() {
+		return problem.proportionalSelect(population, random);
+	}
+
+	/**
+	 * Evaluates individuals of a population which fits in the cache, as a
+	 * converged population does.
+	 */
+	@Benchmark
+	public int cachedFitness() {
+		return cachedProblem.fitnessFunction(population.get(random.nextInt(populationSize)));
+	}
+
+	@Benchmark
+	public int fitness() {
+		return problem.fitnessFunction(population.get(random.nextInt(populationSize)));
+	}
+
+	@Benchmark
+	public byte[] reproduce() {
+		return problem.reproduce(x, y, random);
+	}
+
+	@Benchmark
+	public byte[] mutate() {
+		return problem.mutate(x, random);
+	}
+}
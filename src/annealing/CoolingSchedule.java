@@ -0,0 +1,44 @@
+package annealing;
+
+/**
+ * Cooling schedule of a simulated annealing search.
+ *
+ * The temperature is looked up once per stage rather than once per move, so
+ * schedules are free to use expensive functions such as Math.pow.
+ *
+ * @author Frank Dattalo
+ */
+@FunctionalInterface
+public interface CoolingSchedule {
+
+	/**
+	 * @param stage
+	 *            - the number of stages since the search started or was last
+	 *            reheated.
+	 * @return The temperature of the stage. Temperatures of 0 or less only
+	 *         accept moves which do not make the state worse.
+	 */
+	public double temperature(int stage);
+
+	/**
+	 * @param initial
+	 *            - the temperature of the first stage.
+	 * @param alpha
+	 *            - the factor the temperature is multiplied by every stage.
+	 * @return A schedule which cools exponentially.
+	 */
+	public static CoolingSchedule geometric(double initial, double alpha) {
+		return stage -> initial * Math.pow(alpha, stage);
+	}
+
+	/**
+	 * @param initial
+	 *            - the temperature of the first stage.
+	 * @param stages
+	 *            - the number of stages until the temperature reaches 0.
+	 * @return A schedule which cools by the same amount every stage.
+	 */
+	public static CoolingSchedule linear(double initial, int stages) {
+		return stage -> initial * Math.max(stages - stage, 0) / stages;
+	}
+}
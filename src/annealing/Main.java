@@ -0,0 +1,7 @@
+package annealing;
+
+public final class Main {
+	public static void main(String[] args) {
+		TestHarness.runTest(args[0]);
+	}
+}
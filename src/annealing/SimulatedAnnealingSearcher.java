@@ -0,0 +1,198 @@
+package annealing;
+
+import java.util.SplittableRandom;
+
+import shared.MoveProblem;
+import shared.Neighborhood;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
+import shared.Searcher;
+
+/**
+ * Simulated annealing search algorithm implementation.
+ *
+ * Every step samples one random move and scores only its delta, so no
+ * successor is ever materialized. Moves which do not make the state worse are
+ * always taken, and a move which makes it worse by d is taken with probability
+ * exp(-d / temperature). The temperature follows a cooling schedule which
+ * advances once per stage of neighborhood.size() moves, and is reset to the
+ * start of the schedule whenever the best value has not improved for a number
+ * of stages. The search stops at a terminating value, once its own evaluation
+ * limit is used up or once the search budget is spent, and returns the best
+ * state seen. The budget is checked once per stage.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            The type of the problem
+ * @param <K>
+ *            The problem's state type
+ */
+public final class SimulatedAnnealingSearcher<T extends MoveProblem<K>, K> implements Searcher<T, K> {
+
+	/**
+	 * Worsening deltas below this have their acceptance probability looked up
+	 * instead of computed.
+	 */
+	private static final int TABLE_SIZE = 64;
+
+	private final long maxEvaluations;
+
+	private final CoolingSchedule schedule;
+
+	private final int reheatAfter;
+
+	private final SearchListener<K> listener;
+
+	private final SplittableRandom random;
+
+	/**
+	 * Creates a searcher which cools geometrically from a temperature of 2 and
+	 * reheats after 50 stages without improvement.
+	 *
+	 * @param maxEvaluations
+	 *            - the number of moves to evaluate before giving up.
+	 */
+	public SimulatedAnnealingSearcher(long maxEvaluations) {
+		this(maxEvaluations, CoolingSchedule.geometric(2, 0.9), 50, SearchListener.none());
+	}
+
+	/**
+	 * @param maxEvaluations
+	 *            - the number of moves to evaluate before giving up.
+	 * @param schedule
+	 *            - the temperature of every stage.
+	 * @param reheatAfter
+	 *            - the number of stages without a new best value after which
+	 *            the schedule starts over.
+	 * @param listener
+	 *            - notified after every stage and reheat.
+	 */
+	public SimulatedAnnealingSearcher(long maxEvaluations, CoolingSchedule schedule, int reheatAfter,
+			SearchListener<K> listener) {
+		this(maxEvaluations, schedule, reheatAfter, listener, new SplittableRandom());
+	}
+
+	/**
+	 * @param maxEvaluations
+	 *            - the number of moves to evaluate before giving up.
+	 * @param schedule
+	 *            - the temperature of every stage.
+	 * @param reheatAfter
+	 *            - the number of stages without a new best value after which
+	 *            the schedule starts over.
+	 * @param listener
+	 *            - notified after every stage and reheat.
+	 * @param seed
+	 *            - the seed of the searcher's random generator.
+	 */
+	public SimulatedAnnealingSearcher(long maxEvaluations, CoolingSchedule schedule, int reheatAfter,
+			SearchListener<K> listener, long seed) {
+		this(maxEvaluations, schedule, reheatAfter, listener, new SplittableRandom(seed));
+	}
+
+	private SimulatedAnnealingSearcher(long maxEvaluations, CoolingSchedule schedule, int reheatAfter,
+			SearchListener<K> listener, SplittableRandom random) {
+		this.maxEvaluations = maxEvaluations;
+		this.schedule = schedule;
+		this.reheatAfter = reheatAfter;
+		this.listener = listener;
+		this.random = random;
+	}
+
+	@Override
+	public SearchResult<K> search(T problem, SearchBudget budget) {
+		final SearchBudget.Tracker tracker = budget.start();
+		final double[] acceptance = new double[TABLE_SIZE];
+
+		final Neighborhood<K> neighborhood = problem.neighborhood(problem.getInitialState(random));
+
+		int value = neighborhood.value();
+
+		// A state with no moves, such as that of a board with no free cells,
+		// can not change, so there is nothing to anneal.
+		if (neighborhood.size() == 0) {
+			return tracker.result(neighborhood.state(), value, problem.terminatingValue(value));
+		}
+
+		K best = null;
+		int bestValue = value;
+
+		/*
+		 * Whether the neighborhood holds the best state. The best state is only
+		 * copied when the search is about to move away from it.
+		 */
+		boolean atBest = true;
+
+		long evaluations = 0;
+		int stage = 0;
+		int stages = 0;
+		int sinceImprovement = 0;
+
+		boolean more = true;
+
+		while (more && !problem.terminatingValue(bestValue) && evaluations < maxEvaluations) {
+			final double temperature = schedule.temperature(stage);
+			for (int d = 1; d < TABLE_SIZE; d++) {
+				acceptance[d] = temperature > 0 ? Math.exp(-d / temperature) : 0;
+			}
+
+			final long stageStart = evaluations;
+			final long stageEnd = Math.min(evaluations + Math.min(neighborhood.size(), tracker.remainingEvaluations()),
+					maxEvaluations);
+
+			boolean improved = false;
+
+			while (evaluations < stageEnd && !problem.terminatingValue(bestValue)) {
+				evaluations++;
+
+				final int move = random.nextInt(neighborhood.size());
+				final int delta = neighborhood.delta(move);
+				final int next = value + delta;
+
+				if (delta != 0 && !problem.betterValue(next, value)) {
+					final int worse = Math.abs(delta);
+					final double p = worse < TABLE_SIZE ? acceptance[worse]
+							: temperature > 0 ? Math.exp(-worse / temperature) : 0;
+
+					if (random.nextDouble() >= p) {
+						continue;
+					}
+				}
+
+				if (atBest) {
+					best = neighborhood.state();
+					atBest = false;
+				}
+
+				neighborhood.apply(move);
+				value = next;
+
+				if (problem.betterValue(value, bestValue)) {
+					bestValue = value;
+					atBest = true;
+					improved = true;
+				}
+			}
+
+			more = tracker.spend(evaluations - stageStart);
+
+			stage++;
+			stages++;
+
+			listener.iteration(stages, (int) (evaluations - stageStart), value, neighborhood::state);
+
+			sinceImprovement = improved ? 0 : sinceImprovement + 1;
+
+			if (sinceImprovement >= reheatAfter) {
+				stage = 0;
+				sinceImprovement = 0;
+				listener.restart();
+			}
+		}
+
+		final K ret = atBest ? neighborhood.state() : best;
+		return tracker.result(ret, bestValue, problem.terminatingValue(bestValue));
+	}
+}
@@ -0,0 +1,20 @@
+package annealing;
+
+import shared.Board;
+import shared.ConstraintPropagator;
+import shared.ProgressSearchListener;
+import shared.Sodoku;
+
+public final class TestHarness {
+	public static void runTest(String fileName) {
+		final Sodoku s = new Sodoku(ConstraintPropagator.propagate(Board.create(fileName)));
+		final SimulatedAnnealingSearcher<Sodoku, byte[]> sa = new SimulatedAnnealingSearcher<>(100_000_000L,
+				CoolingSchedule.geometric(2, 0.9), 50, new ProgressSearchListener<>(System.out, 1000));
+		final byte[] state = sa.search(s);
+
+		System.out.println();
+		System.out.printf("Final value: %d\n", s.evaluateState(state));
+		System.out.println("Board:");
+		System.out.println(s.getBoard().mergeWithVector(state));
+	}
+}
@@ -0,0 +1,93 @@
+package batch;
+
+import shared.Board;
+import shared.SearchResult;
+
+/**
+ * The outcome of solving one puzzle of a batch.
+ *
+ * @author Frank Dattalo
+ */
+public final class BatchResult {
+
+	private final int index;
+	private final Board board;
+	private final byte[] state;
+	private final int value;
+	private final SearchResult.Outcome outcome;
+	private final long nanos;
+
+	/**
+	 * @param index
+	 *            - the position of the puzzle in the input.
+	 * @param board
+	 *            - the board which was searched.
+	 * @param state
+	 *            - the searcher's final state.
+	 * @param value
+	 *            - the evaluation of the final state.
+	 * @param outcome
+	 *            - why the search of the puzzle returned.
+	 * @param nanos
+	 *            - the time spent solving the puzzle.
+	 */
+	BatchResult(int index, Board board, byte[] state, int value, SearchResult.Outcome outcome, long nanos) {
+		this.index = index;
+		this.board = board;
+		this.state = state;
+		this.value = value;
+		this.outcome = outcome;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * @return The position of the puzzle in the input.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return The board which was searched, with the cells forced by
+	 *         propagation filled in.
+	 */
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * @return The searcher's final state, the values of the free cells of the
+	 *         board.
+	 */
+	public byte[] getState() {
+		return state;
+	}
+
+	/**
+	 * @return A new board with the searcher's final state merged in.
+	 */
+	public Board getSolution() {
+		return board.mergeWithVector(state);
+	}
+
+	/**
+	 * @return The evaluation of the final state.
+	 */
+	public int getValue() {
+		return value;
+	}
+
+	/**
+	 * @return Why the search of the puzzle returned.
+	 */
+	public SearchResult.Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * @return The time spent solving the puzzle, in nanoseconds.
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+}
@@ -0,0 +1,141 @@
+package batch;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import shared.Board;
+import shared.SearchBudget;
+import shared.SearchResult;
+import shared.Searcher;
+import shared.Sodoku;
+
+/**
+ * Solves many puzzles concurrently on a bounded worker pool.
+ *
+ * Puzzles are pulled from the input only as workers free up, so at most a
+ * couple of puzzles per worker are in flight at once, and results are handed
+ * to the consumer on the calling thread in the order they finish. Each puzzle
+ * gets its own search budget, which bounds the latency of a single puzzle.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            the problem type
+ */
+public final class BatchSolver<T extends Sodoku> {
+
+	private final int threads;
+
+	private final Function<Board, T> problems;
+
+	private final Supplier<? extends Searcher<T, byte[]>> searchers;
+
+	private final SearchBudget budget;
+
+	/**
+	 * @param threads
+	 *            - the number of workers.
+	 * @param problems
+	 *            - creates the problem for a puzzle.
+	 * @param searchers
+	 *            - creates a fresh searcher for each puzzle.
+	 */
+	public BatchSolver(int threads, Function<Board, T> problems, Supplier<? extends Searcher<T, byte[]>> searchers) {
+		this(threads, problems, searchers, SearchBudget.unlimited());
+	}
+
+	/**
+	 * @param threads
+	 *            - the number of workers.
+	 * @param problems
+	 *            - creates the problem for a puzzle.
+	 * @param searchers
+	 *            - creates a fresh searcher for each puzzle.
+	 * @param budget
+	 *            - the budget of the search of each puzzle.
+	 */
+	public BatchSolver(int threads, Function<Board, T> problems, Supplier<? extends Searcher<T, byte[]>> searchers,
+			SearchBudget budget) {
+		this.threads = threads;
+		this.problems = problems;
+		this.searchers = searchers;
+		this.budget = budget;
+	}
+
+	/**
+	 * Solves every puzzle.
+	 *
+	 * @param puzzles
+	 *            - the puzzles to solve.
+	 * @param results
+	 *            - receives each result as soon as it is available.
+	 * @return The throughput and latency of the batch.
+	 */
+	public BatchStatistics solve(Iterator<Board> puzzles, Consumer<BatchResult> results) {
+		final ExecutorService pool = Executors.newFixedThreadPool(threads);
+		final CompletionService<BatchResult> finished = new ExecutorCompletionService<>(pool);
+
+		final int maxInFlight = threads * 2;
+		final long start = System.nanoTime();
+
+		long[] latencies = new long[64];
+		int count = 0;
+		int inFlight = 0;
+		int index = 0;
+
+		try {
+			while (puzzles.hasNext() || inFlight > 0) {
+				if (puzzles.hasNext() && inFlight < maxInFlight) {
+					final Board puzzle = puzzles.next();
+					final int puzzleIndex = index++;
+					finished.submit(() -> solve(puzzleIndex, puzzle));
+					inFlight++;
+					continue;
+				}
+
+				final BatchResult result = finished.take().get();
+				inFlight--;
+
+				if (count == latencies.length) {
+					final long[] grown = new long[count * 2];
+					System.arraycopy(latencies, 0, grown, 0, count);
+					latencies = grown;
+				}
+				latencies[count++] = result.getNanos();
+
+				results.accept(result);
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+
+		final long[] solved = new long[count];
+		System.arraycopy(latencies, 0, solved, 0, count);
+
+		return new BatchStatistics(solved, System.nanoTime() - start);
+	}
+
+	private BatchResult solve(int index, Board puzzle) {
+		final long start = System.nanoTime();
+
+		final T problem = problems.apply(puzzle);
+		final SearchResult<byte[]> result = searchers.get().search(problem, budget);
+
+		final long nanos = System.nanoTime() - start;
+
+		return new BatchResult(index, problem.getBoard(), result.getState(), result.getValue(), result.getOutcome(),
+				nanos);
+	}
+}
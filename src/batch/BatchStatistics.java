@@ -0,0 +1,61 @@
+package batch;
+
+import java.util.Arrays;
+
+/**
+ * Throughput and latency of a solved batch.
+ *
+ * @author Frank Dattalo
+ */
+public final class BatchStatistics {
+
+	private final long[] latencies;
+	private final long elapsedNanos;
+
+	/**
+	 * @param latencies
+	 *            - the per puzzle solve times in nanoseconds.
+	 * @param elapsedNanos
+	 *            - the wall clock time of the whole batch.
+	 */
+	BatchStatistics(long[] latencies, long elapsedNanos) {
+		this.latencies = latencies.clone();
+		this.elapsedNanos = elapsedNanos;
+		Arrays.sort(this.latencies);
+	}
+
+	/**
+	 * @return The number of puzzles solved.
+	 */
+	public int getCount() {
+		return latencies.length;
+	}
+
+	/**
+	 * @return The number of puzzles solved per second of wall clock time.
+	 */
+	public double puzzlesPerSecond() {
+		return elapsedNanos == 0 ? 0 : latencies.length / (elapsedNanos / 1e9);
+	}
+
+	/**
+	 * @param p
+	 *            - the percentile, between 0 and 100.
+	 * @return The solve time in nanoseconds which p percent of the puzzles did
+	 *         not exceed.
+	 */
+	public long percentile(double p) {
+		if (latencies.length == 0) {
+			return 0;
+		}
+		final int rank = (int) Math.ceil(p / 100 * latencies.length);
+		return latencies[Math.max(0, Math.min(rank, latencies.length) - 1)];
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Puzzles    : %d%nPuzzles/sec: %.1f%nLatency ms : p50 %.3f, p90 %.3f, p99 %.3f, max %.3f",
+				getCount(), puzzlesPerSecond(), percentile(50) / 1e6, percentile(90) / 1e6, percentile(99) / 1e6,
+				percentile(100) / 1e6);
+	}
+}
@@ -0,0 +1,49 @@
+package batch;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hands batch results on in the order of their puzzles in the input, rather
+ * than the order they finish in.
+ *
+ * A result which finishes ahead of an earlier puzzle is held until every
+ * earlier result has been handed on, so only the results which finish while a
+ * slower puzzle is still being searched are ever held. Not safe for concurrent
+ * use, which BatchSolver does not need as it calls its consumer on one thread.
+ *
+ * @author Frank Dattalo
+ */
+final class InputOrder implements Consumer<BatchResult> {
+
+	private final Consumer<BatchResult> results;
+
+	private final Map<Integer, BatchResult> pending = new HashMap<>();
+
+	private int next = 0;
+
+	/**
+	 * @param results
+	 *            - receives the results in input order.
+	 */
+	InputOrder(Consumer<BatchResult> results) {
+		this.results = results;
+	}
+
+	@Override
+	public void accept(BatchResult result) {
+		if (result.getIndex() != next) {
+			pending.put(result.getIndex(), result);
+			return;
+		}
+
+		results.accept(result);
+		next++;
+
+		for (BatchResult held = pending.remove(next); held != null; held = pending.remove(next)) {
+			results.accept(held);
+			next++;
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package batch;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import genetic.GeneticAlgorithmSearcher;
+import hillclimb.HillClimbSearcher;
+import shared.Board;
+import shared.CellEncoding;
+import shared.ConstraintPropagator;
+import shared.FlushPolicy;
+import shared.SearchBudget;
+import shared.Sodoku;
+import shared.SodokuCorpusReader;
+import shared.SodokuFileReader;
+import shared.SodokuGA;
+import shared.SolutionWriter;
+
+/**
+ * Solves every puzzle of a directory or multi-puzzle file in one JVM.
+ *
+ * Usage: batch.Main &lt;hc/ga&gt; &lt;directory or file&gt; [threads] [encoding]
+ * [output file]
+ *
+ * When an encoding is given the file is read as a one-puzzle-per-line corpus
+ * with that cell encoding, and puzzles are streamed from it rather than loaded
+ * up front. When an output file is also given the solutions are written to it
+ * instead of being printed, one per line in the same encoding and in the order
+ * of the corpus, so line i of the output holds the best board found for the
+ * i'th puzzle of the corpus, skipping comments and blank lines. The search of
+ * each puzzle is given at most ten seconds, after which its best state so far
+ * is reported.
+ *
+ * @author Frank Dattalo
+ */
+public final class Main {
+
+	private static final SearchBudget BUDGET = SearchBudget.ofTime(10, TimeUnit.SECONDS);
+
+	private static final int OUTPUT_BUFFER = 1 << 20;
+
+	public static void main(String[] args) {
+		final int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+		if (args.length > 4) {
+			final CellEncoding encoding = CellEncoding.valueOf(args[3]);
+			try (SodokuCorpusReader corpus = new SodokuCorpusReader(new File(args[1]), encoding);
+					SolutionWriter out = new SolutionWriter(new File(args[4]), encoding, OUTPUT_BUFFER,
+							FlushPolicy.every(1, TimeUnit.SECONDS))) {
+				solve(args[0], threads, corpus, new InputOrder(r -> out.write(r.getBoard(), r.getState())));
+			}
+		} else if (args.length > 3) {
+			try (SodokuCorpusReader corpus = new SodokuCorpusReader(new File(args[1]),
+					CellEncoding.valueOf(args[3]))) {
+				solve(args[0], threads, corpus, Main::print);
+			}
+		} else {
+			solve(args[0], threads, read(new File(args[1])).iterator(), Main::print);
+		}
+	}
+
+	private static void solve(String searcher, int threads, Iterator<Board> puzzles,
+			Consumer<BatchResult> results) {
+		final BatchStatistics statistics;
+
+		if (searcher.equals("ga")) {
+			statistics = new BatchSolver<SodokuGA>(threads, b -> new SodokuGA(ConstraintPropagator.propagate(b)),
+					() -> new GeneticAlgorithmSearcher<SodokuGA, byte[]>(10), BUDGET).solve(puzzles, results);
+		} else {
+			statistics = new BatchSolver<Sodoku>(threads, b -> new Sodoku(ConstraintPropagator.propagate(b)),
+					() -> new HillClimbSearcher<Sodoku, byte[]>(10), BUDGET).solve(puzzles, results);
+		}
+
+		System.out.println();
+		System.out.println(statistics);
+	}
+
+	private static void print(BatchResult result) {
+		System.out.printf("Puzzle %d: %s with value %d in %.3f ms%n", result.getIndex(), result.getOutcome(),
+				result.getValue(), result.getNanos() / 1e6);
+		System.out.println(result.getSolution());
+	}
+
+	/**
+	 * Reads every puzzle of a file, or of every file in a directory in name
+	 * order.
+	 */
+	private static List<Board> read(File f) {
+		final List<Board> ret = new ArrayList<>();
+
+		final File[] files = f.isDirectory() ? f.listFiles(File::isFile) : new File[] { f };
+		Arrays.sort(files);
+
+		for (final File file : files) {
+			for (final int[][] grid : SodokuFileReader.readAll(file)) {
+				ret.add(Board.create(grid));
+			}
+		}
+
+		return ret;
+	}
+}
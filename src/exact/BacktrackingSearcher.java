@@ -0,0 +1,303 @@
+package exact;
+
+import shared.Board;
+import shared.SearchBudget;
+import shared.SearchResult;
+import shared.Searcher;
+import shared.Sodoku;
+
+/**
+ * Exact backtracking search implementation.
+ *
+ * Tracks the values used by every row, column and box as bitmasks, and always
+ * branches on the free cell with the fewest remaining candidates. When no cell
+ * is forced, every unit is checked for a value with a single possible cell,
+ * which is placed first, or with no possible cell, which prunes the branch.
+ * Returns a solution whenever the board has one. If it has none, or the
+ * budget is spent first, the returned state is the deepest assignment the
+ * search reached without breaking a constraint. Its unassigned cells are
+ * filled in one at a time, each with a value none of its peers holds if there
+ * is one, or otherwise with a value its row is missing. It is always a legal
+ * state, so its value is a true evaluation of the best found. Every
+ * search node counts as one evaluation, and the budget is checked every 1024
+ * nodes. Boards of up to 63x63 are supported, as every value of the board
+ * needs a bit of a long.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            The type of the problem
+ */
+public final class BacktrackingSearcher<T extends Sodoku> implements Searcher<T, byte[]> {
+
+	private long[] rows;
+	private long[] columns;
+	private long[] boxes;
+
+	private int[] cellRow;
+	private int[] cellColumn;
+	private int[] cellBox;
+
+	/**
+	 * The free cells of every row, then every column, then every box.
+	 */
+	private int[][] unitCells;
+
+	private byte[] state;
+
+	/**
+	 * The assignment with the fewest unassigned cells reached so far.
+	 */
+	private byte[] deepest;
+
+	private int deepestRemaining;
+
+	private long all;
+
+	private long nodes = 0;
+
+	private SearchBudget.Tracker tracker;
+
+	private boolean stopped;
+
+	@Override
+	public SearchResult<byte[]> search(T problem, SearchBudget budget) {
+		if (problem.getBoard().getDimension() >= Long.SIZE) {
+			throw new IllegalArgumentException(
+					"Boards of dimension " + problem.getBoard().getDimension() + " are not supported");
+		}
+
+		tracker = budget.start();
+		nodes = 0;
+		stopped = false;
+
+		final Board board = problem.getBoard();
+		final int dimension = board.getDimension();
+		final int partitionSize = (int) Math.sqrt(dimension);
+		final int free = board.getFreeCellCount();
+
+		rows = new long[dimension];
+		columns = new long[dimension];
+		boxes = new long[dimension];
+
+		cellRow = new int[free];
+		cellColumn = new int[free];
+		cellBox = new int[free];
+
+		state = new byte[free];
+		deepest = new byte[free];
+		deepestRemaining = free;
+
+		boolean consistent = true;
+
+		all = ((1L << dimension) - 1) << 1;
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				final int value = board.getValue(x, y);
+				if (value != 0) {
+					final long bit = 1L << value;
+					final int box = (x / partitionSize) * partitionSize + y / partitionSize;
+
+					if ((rows[y] & bit) != 0 || (columns[x] & bit) != 0 || (boxes[box] & bit) != 0) {
+						consistent = false;
+					}
+
+					rows[y] |= bit;
+					columns[x] |= bit;
+					boxes[box] |= bit;
+				}
+			}
+		}
+
+		final int[] unitSizes = new int[dimension * 3];
+
+		for (int k = 0; k < free; k++) {
+			final int x = board.getFreeX(k);
+			final int y = board.getFreeY(k);
+			cellRow[k] = y;
+			cellColumn[k] = x;
+			cellBox[k] = (x / partitionSize) * partitionSize + y / partitionSize;
+
+			unitSizes[y]++;
+			unitSizes[dimension + x]++;
+			unitSizes[2 * dimension + cellBox[k]]++;
+		}
+
+		unitCells = new int[dimension * 3][];
+		for (int u = 0; u < unitCells.length; u++) {
+			unitCells[u] = new int[unitSizes[u]];
+			unitSizes[u] = 0;
+		}
+
+		for (int k = 0; k < free; k++) {
+			unitCells[cellRow[k]][unitSizes[cellRow[k]]++] = k;
+			unitCells[dimension + cellColumn[k]][unitSizes[dimension + cellColumn[k]]++] = k;
+			unitCells[2 * dimension + cellBox[k]][unitSizes[2 * dimension + cellBox[k]]++] = k;
+		}
+
+		// Givens which repeat a value leave nothing to search.
+		final boolean solved = consistent && solve(free);
+
+		if (!solved) {
+			complete();
+		}
+
+		tracker.spend(nodes & 1023);
+
+		return tracker.result(state, problem.evaluateState(state), solved);
+	}
+
+	/**
+	 * @return The number of search nodes visited by the last search.
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Replaces the state, which a failed search leaves with every free cell
+	 * unassigned, by the deepest assignment reached with its unassigned cells
+	 * filled in.
+	 */
+	private void complete() {
+		state = deepest;
+
+		for (int k = 0; k < state.length; k++) {
+			if (state[k] != 0) {
+				place(k, 1L << state[k]);
+			}
+		}
+
+		for (int k = 0; k < state.length; k++) {
+			if (state[k] == 0) {
+				long candidates = candidates(k);
+				if (candidates == 0) {
+					// The row has an unassigned cell, so it misses some value.
+					candidates = all & ~rows[cellRow[k]];
+				}
+
+				final long bit = candidates & -candidates;
+				rows[cellRow[k]] |= bit;
+				columns[cellColumn[k]] |= bit;
+				boxes[cellBox[k]] |= bit;
+				state[k] = (byte) Long.numberOfTrailingZeros(bit);
+			}
+		}
+	}
+
+	/**
+	 * Assigns the remaining free cells.
+	 *
+	 * @param remaining
+	 *            - the number of free cells still unassigned.
+	 * @return whether a solution was found.
+	 */
+	private boolean solve(int remaining) {
+		if (stopped || ++nodes % 1024 == 0 && !tracker.spend(1024)) {
+			stopped = true;
+			return false;
+		}
+
+		if (remaining == 0) {
+			return true;
+		}
+
+		if (remaining < deepestRemaining) {
+			deepestRemaining = remaining;
+			System.arraycopy(state, 0, deepest, 0, state.length);
+		}
+
+		int best = -1;
+		long bestCandidates = 0;
+		int bestCount = Integer.MAX_VALUE;
+
+		for (int k = 0; k < state.length; k++) {
+			if (state[k] != 0) {
+				continue;
+			}
+
+			final long candidates = candidates(k);
+			final int count = Long.bitCount(candidates);
+
+			if (count < bestCount) {
+				best = k;
+				bestCandidates = candidates;
+				bestCount = count;
+
+				if (count <= 1) {
+					break;
+				}
+			}
+		}
+
+		if (bestCount > 1) {
+			final int dimension = rows.length;
+
+			for (int u = 0; u < unitCells.length; u++) {
+				final long used = u < dimension ? rows[u] : u < 2 * dimension ? columns[u - dimension]
+						: boxes[u - 2 * dimension];
+
+				long once = 0;
+				long twice = 0;
+
+				for (final int k : unitCells[u]) {
+					if (state[k] == 0) {
+						final long candidates = candidates(k);
+						twice |= once & candidates;
+						once |= candidates;
+					}
+				}
+
+				final long needed = all & ~used;
+
+				if ((needed & ~once) != 0) {
+					return false;
+				}
+
+				final long hidden = needed & once & ~twice;
+
+				if (hidden != 0) {
+					final long bit = hidden & -hidden;
+					for (final int k : unitCells[u]) {
+						if (state[k] == 0 && (candidates(k) & bit) != 0) {
+							best = k;
+							bestCandidates = bit;
+						}
+					}
+					break;
+				}
+			}
+		}
+
+		while (bestCandidates != 0) {
+			final long bit = bestCandidates & -bestCandidates;
+			bestCandidates &= bestCandidates - 1;
+
+			place(best, bit);
+			state[best] = (byte) Long.numberOfTrailingZeros(bit);
+
+			if (solve(remaining - 1)) {
+				return true;
+			}
+
+			state[best] = 0;
+			place(best, bit);
+		}
+
+		return false;
+	}
+
+	private long candidates(int k) {
+		return all & ~(rows[cellRow[k]] | columns[cellColumn[k]] | boxes[cellBox[k]]);
+	}
+
+	/**
+	 * Toggles bit in the row, column and box of the k'th free cell.
+	 */
+	private void place(int k, long bit) {
+		rows[cellRow[k]] ^= bit;
+		columns[cellColumn[k]] ^= bit;
+		boxes[cellBox[k]] ^= bit;
+	}
+}
@@ -0,0 +1,7 @@
+package exact;
+
+public final class Main {
+	public static void main(String[] args) {
+		TestHarness.runTest(args[0]);
+	}
+}
@@ -0,0 +1,19 @@
+package exact;
+
+import shared.Board;
+import shared.ConstraintPropagator;
+import shared.Sodoku;
+
+public final class TestHarness {
+	public static void runTest(String fileName) {
+		final Sodoku s = new Sodoku(ConstraintPropagator.propagate(Board.create(fileName)));
+		final BacktrackingSearcher<Sodoku> searcher = new BacktrackingSearcher<>();
+		final byte[] state = searcher.search(s);
+
+		System.out.println();
+		System.out.printf("Final value: %d\n", s.evaluateState(state));
+		System.out.printf("Nodes: %d\n", searcher.getNodes());
+		System.out.println("Board:");
+		System.out.println(s.getBoard().mergeWithVector(state));
+	}
+}
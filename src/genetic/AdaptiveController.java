@@ -0,0 +1,103 @@
+package genetic;
+
+/**
+ * Adapts a Genetic Algorithm to stagnation.
+ *
+ * While the best fitness keeps improving the problem's own mutation rate is
+ * used. Once it has not improved for patience generations the mutation rate
+ * doubles, up to a maximum, every further patience generations, and every
+ * patience generations a fraction of the next generation is made of fresh
+ * random individuals instead of children. Both go back to normal as soon as
+ * the best fitness improves.
+ *
+ * @author Frank Dattalo
+ */
+public final class AdaptiveController {
+
+	private static final AdaptiveController NONE = new AdaptiveController(Integer.MAX_VALUE, 0, 0);
+
+	private final int patience;
+
+	private final double maxMutationRate;
+
+	private final double immigrantFraction;
+
+	/**
+	 * @param patience
+	 *            - the number of generations without a new best fitness after
+	 *            which the search counts as stagnant.
+	 * @param maxMutationRate
+	 *            - the highest mutation rate to raise to.
+	 * @param immigrantFraction
+	 *            - the fraction of a generation replaced by fresh individuals
+	 *            every patience stagnant generations.
+	 */
+	public AdaptiveController(int patience, double maxMutationRate, double immigrantFraction) {
+		if (patience < 1) {
+			throw new IllegalArgumentException("Patience must be positive: " + patience);
+		}
+
+		this.patience = patience;
+		this.maxMutationRate = maxMutationRate;
+		this.immigrantFraction = immigrantFraction;
+	}
+
+	/**
+	 * @return A controller which reacts to 25 stagnant generations by raising
+	 *         mutation to at most 0.6 and replacing a fifth of the population.
+	 */
+	public static AdaptiveController defaults() {
+		return new AdaptiveController(25, 0.6, 0.2);
+	}
+
+	/**
+	 * @return A controller which never adapts.
+	 */
+	public static AdaptiveController none() {
+		return NONE;
+	}
+
+	/**
+	 * Sizes a population by the number of genes of an individual, from 10 for
+	 * nearly solved boards to 200 for large, empty ones.
+	 *
+	 * @param genes
+	 *            - the number of genes of an individual, such as the free
+	 *            cells of a board.
+	 * @return The population size to search with.
+	 */
+	public static int populationSize(int genes) {
+		return Math.min(Math.max(genes / 2, 10), 200);
+	}
+
+	/**
+	 * @param baseRate
+	 *            - the problem's mutation rate.
+	 * @param stagnant
+	 *            - the number of generations since the best fitness improved.
+	 * @return The mutation rate of the next generation.
+	 */
+	public double mutationRate(double baseRate, int stagnant) {
+		final int raises = stagnant / patience;
+		if (raises == 0) {
+			return baseRate;
+		}
+
+		return Math.max(Math.min(baseRate * Math.pow(2, raises), maxMutationRate), baseRate);
+	}
+
+	/**
+	 * @param size
+	 *            - the population size.
+	 * @param stagnant
+	 *            - the number of generations since the best fitness improved.
+	 * @return The number of fresh individuals in the next generation.
+	 */
+	public int immigrants(int size, int stagnant) {
+		if (stagnant == 0 || stagnant % patience != 0) {
+			return 0;
+		}
+
+		return Math.min((int) Math.round(size * immigrantFraction), size);
+	}
+}
@@ -1,13 +1,25 @@
 package genetic;
 
-import java.util.Collection;
+import java.util.SplittableRandom;
 
 import shared.GAProblem;
+import shared.Population;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
 import shared.Searcher;
+import shared.SolverMetrics;
 
 /**
  * Genetic Algorithm implementation.
  *
+ * Without a budget the search only returns once an individual is fit enough.
+ * With one it returns the most fit individual of any generation so far once
+ * the budget is spent. When metrics are enabled, every generation and its
+ * diversity is recorded in the GeneticAlgorithmSearcher SolverMetrics MBean.
+ * An AdaptiveController can raise the mutation rate and bring in fresh
+ * individuals while the best fitness stagnates.
+ *
  * @author Frank Dattalo
  *
  * @param <T>
@@ -19,48 +31,157 @@ public final class GeneticAlgorithmSearcher<T extends GAProblem<K>, K> implement
 
 	private final int pop;
 
+	private final AdaptiveController controller;
+
+	private final SearchListener<K> listener;
+
+	private final SplittableRandom random;
+
+	private final SolverMetrics metrics = SolverMetrics.forSearcher("GeneticAlgorithmSearcher");
+
 	private int totalIterations = 0;
 
-	GeneticAlgorithmSearcher(int pop) {
+	public GeneticAlgorithmSearcher(int pop) {
+		this(pop, SearchListener.none());
+	}
+
+	public GeneticAlgorithmSearcher(int pop, SearchListener<K> listener) {
+		this(pop, AdaptiveController.none(), listener);
+	}
+
+	public GeneticAlgorithmSearcher(int pop, SearchListener<K> listener, long seed) {
+		this(pop, AdaptiveController.none(), listener, seed);
+	}
+
+	/**
+	 * @param pop
+	 *            - the population size.
+	 * @param controller
+	 *            - adapts the search when the best fitness stagnates.
+	 * @param listener
+	 *            - notified after every generation.
+	 */
+	public GeneticAlgorithmSearcher(int pop, AdaptiveController controller, SearchListener<K> listener) {
+		this(pop, controller, listener, new SplittableRandom());
+	}
+
+	/**
+	 * @param pop
+	 *            - the population size.
+	 * @param controller
+	 *            - adapts the search when the best fitness stagnates.
+	 * @param listener
+	 *            - notified after every generation.
+	 * @param seed
+	 *            - the seed of the searcher's random generator.
+	 */
+	public GeneticAlgorithmSearcher(int pop, AdaptiveController controller, SearchListener<K> listener, long seed) {
+		this(pop, controller, listener, new SplittableRandom(seed));
+	}
+
+	private GeneticAlgorithmSearcher(int pop, AdaptiveController controller, SearchListener<K> listener,
+			SplittableRandom random) {
 		this.pop = pop;
+		this.controller = controller;
+		this.listener = listener;
+		this.random = random;
 	}
 
 	@Override
-	public K search(T problem) {
+	public SearchResult<K> search(T problem, SearchBudget budget) {
+		final SearchBudget.Tracker tracker = budget.start();
 		final double mutationRate = problem.mutationRate();
 
-		Collection<K> population = problem.getInitialPopulation(pop);
+		Population<K> population = problem.getInitialPopulation(pop, random);
 
-		while (true) {
-			System.out.println();
-			System.out.println("Iterations : " + totalIterations);
+		int mostFit = population.mostFitIndex();
 
-			final Collection<K> newPop = problem.newPopulation();
+		K best = population.get(mostFit);
+		int bestFitness = population.getFitness(mostFit);
 
-			for (int i = 0; i < population.size(); i++) {
-				final K parent1 = problem.proportionalSelect(population);
-				final K parent2 = problem.proportionalSelect(population);
+		boolean more = tracker.spend(population.size());
 
-				K child = problem.reproduce(parent1, parent2);
+		int stagnant = 0;
 
-				if (Math.random() <= mutationRate) {
-					child = problem.mutate(child);
-				}
+		if (metrics != null) {
+			metrics.searchStarted();
+			metrics.generation(population.size(), bestFitness, problem.diversity(population));
+			metrics.bestFitness(bestFitness);
+		}
+
+		while (more && !problem.isFitEnough(bestFitness)) {
+			final Population<K> newPop = problem.newPopulation();
+
+			final int immigrants = controller.immigrants(population.size(), stagnant);
+
+			breed(problem, population, newPop, population.size() - immigrants,
+					controller.mutationRate(mutationRate, stagnant), random);
 
-				newPop.add(child);
+			for (int i = 0; i < immigrants; i++) {
+				newPop.add(problem.getInitialState(random));
 			}
 
 			population = newPop;
 
-			final K mostFit = problem.mostFitIndividual(population);
+			mostFit = population.mostFitIndex();
 
 			totalIterations++;
-			System.out.println("Chosen     : " + mostFit);
-			System.out.println("Fitness    : " + problem.fitnessFunction(mostFit));
 
-			if (problem.isFitEnough(mostFit)) {
-				return mostFit;
+			final K chosen = population.get(mostFit);
+			listener.iteration(totalIterations, population.size(), population.getFitness(mostFit), () -> chosen);
+
+			if (population.getFitness(mostFit) > bestFitness) {
+				best = chosen;
+				bestFitness = population.getFitness(mostFit);
+				stagnant = 0;
+
+				if (metrics != null) {
+					metrics.bestFitness(bestFitness);
+				}
+			} else {
+				stagnant++;
+			}
+
+			if (metrics != null) {
+				metrics.generation(population.size(), population.getFitness(mostFit), problem.diversity(population));
+			}
+
+			more = tracker.spend(population.size());
+		}
+
+		return tracker.result(best, problem.evaluateState(best), problem.isFitEnough(bestFitness));
+	}
+
+	/**
+	 * Adds count children of parents, selected proportionally to their
+	 * fitness, to children.
+	 *
+	 * @param problem
+	 *            - the problem.
+	 * @param parents
+	 *            - the population to select parents from.
+	 * @param children
+	 *            - the population to add the children to.
+	 * @param count
+	 *            - the number of children to breed.
+	 * @param mutationRate
+	 *            - the probability that a child is mutated.
+	 * @param random
+	 *            - the source of randomness for breeding.
+	 */
+	static <K> void breed(GAProblem<K> problem, Population<K> parents, Population<K> children, int count,
+			double mutationRate, SplittableRandom random) {
+		for (int i = 0; i < count; i++) {
+			final K parent1 = problem.proportionalSelect(parents, random);
+			final K parent2 = problem.proportionalSelect(parents, random);
+
+			K child = problem.reproduce(parent1, parent2, random);
+
+			if (random.nextDouble() <= mutationRate) {
+				child = problem.mutate(child, random);
 			}
+
+			children.add(child);
 		}
 	}
 }
@@ -0,0 +1,270 @@
+package genetic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import shared.GAProblem;
+import shared.Population;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
+import shared.Searcher;
+
+/**
+ * Island model Genetic Algorithm implementation.
+ *
+ * Each island evolves its own population on its own thread. Every migration
+ * interval an island sends its most fit individual to its neighbors, which
+ * add it to their next generation. The search stops as soon as any island
+ * finds an individual which is fit enough, or once the budget the islands
+ * share is spent, returning the most fit individual any island has seen. Each
+ * island draws from its own stream split off the searcher's generator.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            the problem type
+ * @param <K>
+ *            the problem's state type
+ */
+public final class IslandGeneticAlgorithmSearcher<T extends GAProblem<K>, K> implements Searcher<T, K> {
+
+	/**
+	 * Which islands an island sends its migrants to.
+	 */
+	public enum Topology {
+		/**
+		 * Island i sends to island i + 1, wrapping around.
+		 */
+		RING,
+
+		/**
+		 * Every island sends to every other island.
+		 */
+		FULLY_CONNECTED
+	}
+
+	private final int islands;
+
+	private final int pop;
+
+	private final int migrationInterval;
+
+	private final Topology topology;
+
+	private final SearchListener<K> listener;
+
+	private final SplittableRandom random;
+
+	/**
+	 * @param islands
+	 *            - the number of islands, each with its own thread.
+	 * @param pop
+	 *            - the population size of each island.
+	 * @param migrationInterval
+	 *            - the number of generations between migrations.
+	 * @param topology
+	 *            - how the islands are connected.
+	 */
+	public IslandGeneticAlgorithmSearcher(int islands, int pop, int migrationInterval, Topology topology) {
+		this(islands, pop, migrationInterval, topology, SearchListener.none());
+	}
+
+	/**
+	 * @param islands
+	 *            - the number of islands, each with its own thread.
+	 * @param pop
+	 *            - the population size of each island.
+	 * @param migrationInterval
+	 *            - the number of generations between migrations.
+	 * @param topology
+	 *            - how the islands are connected.
+	 * @param listener
+	 *            - the listener shared by every island.
+	 */
+	public IslandGeneticAlgorithmSearcher(int islands, int pop, int migrationInterval, Topology topology,
+			SearchListener<K> listener) {
+		this(islands, pop, migrationInterval, topology, listener, new SplittableRandom());
+	}
+
+	/**
+	 * @param islands
+	 *            - the number of islands, each with its own thread.
+	 * @param pop
+	 *            - the population size of each island.
+	 * @param migrationInterval
+	 *            - the number of generations between migrations.
+	 * @param topology
+	 *            - how the islands are connected.
+	 * @param listener
+	 *            - the listener shared by every island.
+	 * @param seed
+	 *            - the seed the islands' random streams are split from.
+	 */
+	public IslandGeneticAlgorithmSearcher(int islands, int pop, int migrationInterval, Topology topology,
+			SearchListener<K> listener, long seed) {
+		this(islands, pop, migrationInterval, topology, listener, new SplittableRandom(seed));
+	}
+
+	private IslandGeneticAlgorithmSearcher(int islands, int pop, int migrationInterval, Topology topology,
+			SearchListener<K> listener, SplittableRandom random) {
+		if (islands < 1) {
+			throw new IllegalArgumentException("Islands must be positive: " + islands);
+		}
+		if (pop < 1) {
+			throw new IllegalArgumentException("Population size must be positive: " + pop);
+		}
+		if (migrationInterval < 1) {
+			throw new IllegalArgumentException("Migration interval must be positive: " + migrationInterval);
+		}
+
+		this.islands = islands;
+		this.pop = pop;
+		this.migrationInterval = migrationInterval;
+		this.topology = topology;
+		this.listener = listener;
+		this.random = random;
+	}
+
+	@Override
+	public SearchResult<K> search(T problem, SearchBudget budget) {
+		final SearchBudget.Tracker tracker = budget.start();
+
+		final List<BlockingQueue<K>> inboxes = new ArrayList<>();
+		for (int i = 0; i < islands; i++) {
+			inboxes.add(new ArrayBlockingQueue<>(islands));
+		}
+
+		final AtomicBoolean done = new AtomicBoolean();
+		final AtomicReference<Scored<K>> best = new AtomicReference<>();
+
+		final ExecutorService pool = Executors.newFixedThreadPool(islands);
+
+		try {
+			final List<Future<?>> workers = new ArrayList<>();
+
+			for (int i = 0; i < islands; i++) {
+				final int island = i;
+				final SplittableRandom stream = random.split();
+				workers.add(pool.submit(() -> evolve(problem, island, stream, tracker, inboxes, done, best)));
+			}
+
+			for (final Future<?> worker : workers) {
+				worker.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			done.set(true);
+			pool.shutdownNow();
+		}
+
+		final Scored<K> ret = best.get();
+		return tracker.result(ret.state, problem.evaluateState(ret.state), problem.isFitEnough(ret.fitness));
+	}
+
+	private void evolve(T problem, int island, SplittableRandom random, SearchBudget.Tracker tracker,
+			List<BlockingQueue<K>> inboxes, AtomicBoolean done, AtomicReference<Scored<K>> best) {
+		final double mutationRate = problem.mutationRate();
+		final BlockingQueue<K> inbox = inboxes.get(island);
+
+		Population<K> population = problem.getInitialPopulation(pop, random);
+
+		int generation = 0;
+
+		boolean more = tracker.spend(population.size());
+
+		while (!done.get()) {
+			final int mostFit = population.mostFitIndex();
+
+			offer(best, new Scored<>(population.get(mostFit), population.getFitness(mostFit)));
+
+			if (problem.isFitEnough(population.getFitness(mostFit)) || !more) {
+				done.set(true);
+				return;
+			}
+
+			if (generation > 0 && generation % migrationInterval == 0) {
+				emigrate(island, population.get(mostFit), inboxes);
+			}
+
+			final Population<K> newPop = problem.newPopulation();
+
+			K migrant;
+			while (newPop.size() < population.size() && (migrant = inbox.poll()) != null) {
+				newPop.add(migrant);
+			}
+
+			GeneticAlgorithmSearcher.breed(problem, population, newPop, population.size() - newPop.size(),
+					mutationRate, random);
+
+			population = newPop;
+			generation++;
+
+			final int fittest = population.mostFitIndex();
+			final K chosen = population.get(fittest);
+			listener.iteration(generation, population.size(), population.getFitness(fittest), () -> chosen);
+
+			more = tracker.spend(population.size());
+		}
+	}
+
+	/**
+	 * Replaces the global best with candidate if candidate is more fit.
+	 */
+	private static <K> void offer(AtomicReference<Scored<K>> best, Scored<K> candidate) {
+		while (true) {
+			final Scored<K> current = best.get();
+
+			if (current != null && candidate.fitness <= current.fitness) {
+				return;
+			}
+
+			if (best.compareAndSet(current, candidate)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Sends individual to the neighbors of island. Migrants are dropped when a
+	 * neighbor's inbox is full.
+	 */
+	private void emigrate(int island, K individual, List<BlockingQueue<K>> inboxes) {
+		if (topology == Topology.RING) {
+			inboxes.get((island + 1) % islands).offer(individual);
+			return;
+		}
+
+		for (int i = 0; i < islands; i++) {
+			if (i != island) {
+				inboxes.get(i).offer(individual);
+			}
+		}
+	}
+
+	/**
+	 * An individual together with its fitness.
+	 */
+	private static final class Scored<K> {
+		private final K state;
+		private final int fitness;
+
+		private Scored(K state, int fitness) {
+			this.state = state;
+			this.fitness = fitness;
+		}
+	}
+}
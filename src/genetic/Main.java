@@ -2,6 +2,18 @@ package genetic;
 
 public final class Main {
 	public static void main(String[] args) {
-		TestHarness.runTest(args[0]);
+		if (args.length > 1 && args[1].equals("islands")) {
+			TestHarness.runIslandTest(args[0]);
+		} else if (args.length > 1 && args[1].equals("permutation")) {
+			TestHarness.runPermutationTest(args[0]);
+		} else if (args.length > 1 && args[1].equals("steady")) {
+			TestHarness.runSteadyStateTest(args[0]);
+		} else if (args.length > 1 && args[1].equals("cached")) {
+			TestHarness.runCachedTest(args[0]);
+		} else if (args.length > 1 && args[1].equals("adaptive")) {
+			TestHarness.runAdaptiveTest(args[0]);
+		} else {
+			TestHarness.runTest(args[0]);
+		}
 	}
 }
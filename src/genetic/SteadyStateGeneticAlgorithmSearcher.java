@@ -0,0 +1,160 @@
+package genetic;
+
+import java.util.SplittableRandom;
+
+import shared.GAProblem;
+import shared.Population;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
+import shared.Searcher;
+
+/**
+ * Steady state Genetic Algorithm implementation.
+ *
+ * A single population is kept for the whole search. Every generation the most
+ * fit elite fraction of it survives unchanged and the remaining, least fit
+ * individuals are replaced in place by children bred from the whole
+ * population. Since the most fit individual is always part of the elite, the
+ * best fitness never goes down between generations.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            the problem type
+ * @param <K>
+ *            the problem's state type
+ */
+public final class SteadyStateGeneticAlgorithmSearcher<T extends GAProblem<K>, K> implements Searcher<T, K> {
+
+	private final int pop;
+
+	private final double eliteFraction;
+
+	private final SearchListener<K> listener;
+
+	private final SplittableRandom random;
+
+	private int totalIterations = 0;
+
+	/**
+	 * @param pop
+	 *            - the population size.
+	 * @param eliteFraction
+	 *            - the fraction of the population which survives every
+	 *            generation. At least one individual always survives.
+	 */
+	public SteadyStateGeneticAlgorithmSearcher(int pop, double eliteFraction) {
+		this(pop, eliteFraction, SearchListener.none());
+	}
+
+	/**
+	 * @param pop
+	 *            - the population size.
+	 * @param eliteFraction
+	 *            - the fraction of the population which survives every
+	 *            generation. At least one individual always survives.
+	 * @param listener
+	 *            - notified after every generation.
+	 */
+	public SteadyStateGeneticAlgorithmSearcher(int pop, double eliteFraction, SearchListener<K> listener) {
+		this(pop, eliteFraction, listener, new SplittableRandom());
+	}
+
+	/**
+	 * @param pop
+	 *            - the population size.
+	 * @param eliteFraction
+	 *            - the fraction of the population which survives every
+	 *            generation. At least one individual always survives.
+	 * @param listener
+	 *            - notified after every generation.
+	 * @param seed
+	 *            - the seed of the searcher's random generator.
+	 */
+	public SteadyStateGeneticAlgorithmSearcher(int pop, double eliteFraction, SearchListener<K> listener,
+			long seed) {
+		this(pop, eliteFraction, listener, new SplittableRandom(seed));
+	}
+
+	private SteadyStateGeneticAlgorithmSearcher(int pop, double eliteFraction, SearchListener<K> listener,
+			SplittableRandom random) {
+		this.pop = pop;
+		this.eliteFraction = eliteFraction;
+		this.listener = listener;
+		this.random = random;
+	}
+
+	@Override
+	public SearchResult<K> search(T problem, SearchBudget budget) {
+		final SearchBudget.Tracker tracker = budget.start();
+		final double mutationRate = problem.mutationRate();
+
+		final Population<K> population = problem.getInitialPopulation(pop, random);
+
+		final int size = population.size();
+		final int elite = Math.min(Math.max((int) Math.round(size * eliteFraction), 1), size);
+		final int replaced = size - elite;
+
+		final int[] order = new int[size];
+
+		@SuppressWarnings("unchecked")
+		final K[] children = (K[]) new Object[replaced];
+
+		int mostFit = population.mostFitIndex();
+
+		boolean more = tracker.spend(size);
+
+		while (more && !problem.isFitEnough(population.getFitness(mostFit))) {
+			for (int i = 0; i < replaced; i++) {
+				final K parent1 = problem.proportionalSelect(population, random);
+				final K parent2 = problem.proportionalSelect(population, random);
+
+				K child = problem.reproduce(parent1, parent2, random);
+
+				if (random.nextDouble() <= mutationRate) {
+					child = problem.mutate(child, random);
+				}
+
+				children[i] = child;
+			}
+
+			rankWorstFirst(population, order);
+
+			for (int i = 0; i < replaced; i++) {
+				population.set(order[i], children[i]);
+				children[i] = null;
+			}
+
+			mostFit = population.mostFitIndex();
+
+			totalIterations++;
+
+			final K chosen = population.get(mostFit);
+			listener.iteration(totalIterations, replaced, population.getFitness(mostFit), () -> chosen);
+
+			more = tracker.spend(replaced);
+		}
+
+		final K best = population.get(mostFit);
+		return tracker.result(best, problem.evaluateState(best), problem.isFitEnough(population.getFitness(mostFit)));
+	}
+
+	/**
+	 * Fills order with the indices of population from least to most fit. An
+	 * insertion sort is used, as populations are small.
+	 */
+	private static <K> void rankWorstFirst(Population<K> population, int[] order) {
+		for (int i = 0; i < order.length; i++) {
+			final int fitness = population.getFitness(i);
+
+			int j = i;
+			while (j > 0 && population.getFitness(order[j - 1]) > fitness) {
+				order[j] = order[j - 1];
+				j--;
+			}
+
+			order[j] = i;
+		}
+	}
+}
@@ -1,16 +1,59 @@
 package genetic;
 
-import java.util.List;
-
-import shared.Position;
+import shared.Board;
+import shared.ConstraintPropagator;
+import shared.ProgressSearchListener;
 import shared.SodokuGA;
+import shared.SodokuPermutationGA;
 
 public final class TestHarness {
 	public static void runTest(String fileName) {
-		final SodokuGA problem = new SodokuGA(fileName);
-		final GeneticAlgorithmSearcher<SodokuGA, List<Position>> s = new GeneticAlgorithmSearcher<>(10);
-		final List<Position> state = s.search(problem);
+		final SodokuGA problem = new SodokuGA(ConstraintPropagator.propagate(Board.create(fileName)));
+		final GeneticAlgorithmSearcher<SodokuGA, byte[]> s = new GeneticAlgorithmSearcher<>(10,
+				new ProgressSearchListener<>(System.out, 1000));
+		report(problem, s.search(problem));
+	}
+
+	public static void runAdaptiveTest(String fileName) {
+		final SodokuGA problem = new SodokuGA(ConstraintPropagator.propagate(Board.create(fileName)));
+		final GeneticAlgorithmSearcher<SodokuGA, byte[]> s = new GeneticAlgorithmSearcher<>(
+				AdaptiveController.populationSize(problem.getBoard().getFreeCellCount()),
+				AdaptiveController.defaults(), new ProgressSearchListener<>(System.out, 1000));
+		report(problem, s.search(problem));
+	}
+
+	public static void runIslandTest(String fileName) {
+		final SodokuGA problem = new SodokuGA(ConstraintPropagator.propagate(Board.create(fileName)));
+		final IslandGeneticAlgorithmSearcher<SodokuGA, byte[]> s = new IslandGeneticAlgorithmSearcher<>(
+				Runtime.getRuntime().availableProcessors(), 10, 10, IslandGeneticAlgorithmSearcher.Topology.RING,
+				new ProgressSearchListener<>(System.out, 1000));
+		report(problem, s.search(problem));
+	}
+
+	public static void runPermutationTest(String fileName) {
+		final SodokuPermutationGA problem = new SodokuPermutationGA(
+				ConstraintPropagator.propagate(Board.create(fileName)));
+		final GeneticAlgorithmSearcher<SodokuPermutationGA, byte[]> s = new GeneticAlgorithmSearcher<>(10,
+				new ProgressSearchListener<>(System.out, 1000));
+		report(problem, s.search(problem));
+	}
+
+	public static void runSteadyStateTest(String fileName) {
+		final SodokuGA problem = new SodokuGA(ConstraintPropagator.propagate(Board.create(fileName)));
+		final SteadyStateGeneticAlgorithmSearcher<SodokuGA, byte[]> s = new SteadyStateGeneticAlgorithmSearcher<>(
+				10, 0.2, new ProgressSearchListener<>(System.out, 1000));
+		report(problem, s.search(problem));
+	}
+
+	public static void runCachedTest(String fileName) {
+		final SodokuGA problem = new SodokuGA(ConstraintPropagator.propagate(Board.create(fileName)), 1 << 16);
+		final GeneticAlgorithmSearcher<SodokuGA, byte[]> s = new GeneticAlgorithmSearcher<>(10,
+				new ProgressSearchListener<>(System.out, 1000));
+		report(problem, s.search(problem));
+		System.out.println("Cache: " + problem.getCache());
+	}
 
+	private static void report(SodokuGA problem, byte[] state) {
 		System.out.println();
 		System.out.printf("Fitness value: %d\n", problem.fitnessFunction(state));
 		System.out.println("Board:");
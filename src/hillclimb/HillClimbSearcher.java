@@ -2,12 +2,33 @@ package hillclimb;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
+import shared.MoveProblem;
+import shared.Neighborhood;
 import shared.Problem;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
 import shared.Searcher;
+import shared.SolverMetrics;
 
 /**
  * Hill climb search algorithm implementation.
+ *
+ * Problems which implement MoveProblem are climbed in place, scoring each
+ * move's delta in a single pass instead of sorting materialized successors.
+ * Every random choice is drawn from the searcher's own generator, so a
+ * searcher created with a seed repeats the same search. A budget is checked
+ * after every step, so a climb stops within one step of the budget running
+ * out. When metrics are enabled, every step and restart is counted in the
+ * HillClimbSearcher SolverMetrics MBean.
+ *
+ * Given a fork join pool, every step of a move problem splits the scan of its
+ * neighborhood into tasks on the pool, which each return their local best
+ * move. This cuts the latency of a step on large boards, even for a single
+ * climb, and takes the same move the sequential scan would.
  * 
  * @author Frank Dattalo
  *
@@ -18,51 +39,139 @@ import shared.Searcher;
  */
 public final class HillClimbSearcher<T extends Problem<K>, K> implements Searcher<T, K> {
 
+	/**
+	 * The fewest moves a fork join task scans, below which splitting costs
+	 * more than it saves.
+	 */
+	private static final int MIN_SPLIT = 512;
+
 	private final int maxIterations;
 
+	private final SearchListener<K> listener;
+
+	private final SplittableRandom random;
+
+	/**
+	 * The pool neighborhood scans are split across, or null to scan on the
+	 * calling thread.
+	 */
+	private final ForkJoinPool pool;
+
+	private final SolverMetrics metrics = SolverMetrics.forSearcher("HillClimbSearcher");
+
 	private int totalIterations = 0;
 
 	public HillClimbSearcher(int maxIterations) {
+		this(maxIterations, SearchListener.none());
+	}
+
+	public HillClimbSearcher(int maxIterations, SearchListener<K> listener) {
+		this(maxIterations, listener, new SplittableRandom());
+	}
+
+	public HillClimbSearcher(int maxIterations, SearchListener<K> listener, long seed) {
+		this(maxIterations, listener, new SplittableRandom(seed));
+	}
+
+	/**
+	 * @param maxIterations
+	 *            - the number of restarts to perform.
+	 * @param pool
+	 *            - the pool every step's neighborhood scan is split across.
+	 * @param listener
+	 *            - notified after every step and restart.
+	 */
+	public HillClimbSearcher(int maxIterations, ForkJoinPool pool, SearchListener<K> listener) {
+		this(maxIterations, listener, new SplittableRandom(), pool);
+	}
+
+	/**
+	 * @param maxIterations
+	 *            - the number of restarts to perform.
+	 * @param pool
+	 *            - the pool every step's neighborhood scan is split across.
+	 * @param listener
+	 *            - notified after every step and restart.
+	 * @param seed
+	 *            - the seed of the searcher's random generator.
+	 */
+	public HillClimbSearcher(int maxIterations, ForkJoinPool pool, SearchListener<K> listener, long seed) {
+		this(maxIterations, listener, new SplittableRandom(seed), pool);
+	}
+
+	HillClimbSearcher(int maxIterations, SearchListener<K> listener, SplittableRandom random) {
+		this(maxIterations, listener, random, null);
+	}
+
+	private HillClimbSearcher(int maxIterations, SearchListener<K> listener, SplittableRandom random,
+			ForkJoinPool pool) {
 		this.maxIterations = maxIterations;
+		this.listener = listener;
+		this.random = random;
+		this.pool = pool;
 	}
 
 	@Override
-	public K search(T problem) {
+	public SearchResult<K> search(T problem, SearchBudget budget) {
+		final SearchBudget.Tracker tracker = budget.start();
+
+		if (metrics != null) {
+			metrics.searchStarted();
+		}
+
 		int iterations = 0;
 
 		K best = null;
+		int bestVal = 0;
 
 		while (true) {
-			final K current = searchHC(problem);
-
-			if (best == null) {
-				best = current;
-			}
-
-			final int bestVal = problem.evaluateState(best);
+			final K current = searchHC(problem, tracker);
 			final int currentVal = problem.evaluateState(current);
 
-			if (problem.betterValue(currentVal, bestVal)) {
+			if (best == null || problem.betterValue(currentVal, bestVal)) {
 				best = current;
-			} else if (problem.terminatingValue(bestVal) || iterations == maxIterations) {
-				return best;
+				bestVal = currentVal;
+
+				if (metrics != null) {
+					metrics.best(bestVal, problem);
+				}
+			} else if (iterations == maxIterations) {
+				break;
 			} else {
 				iterations++;
 			}
 
-			System.out.println("Restarting Search");
+			if (problem.terminatingValue(bestVal) || !tracker.check()) {
+				break;
+			}
+
+			listener.restart();
+
+			if (metrics != null) {
+				metrics.restart();
+			}
 		}
+
+		return tracker.result(best, bestVal, problem.terminatingValue(bestVal));
 	}
 
-	private K searchHC(T problem) {
-		K current = problem.getInitialState();
+	/**
+	 * Climbs from a new initial state until no successor is better or the
+	 * budget is spent.
+	 */
+	@SuppressWarnings("unchecked")
+	K searchHC(T problem, SearchBudget.Tracker tracker) {
+		if (problem instanceof MoveProblem) {
+			return searchMoves((MoveProblem<K>) problem, tracker);
+		}
 
-		while (true) {
-			System.out.println();
-			System.out.println("Iterations : " + totalIterations);
+		K current = problem.getInitialState(random);
 
+		while (true) {
 			final Collection<K> neighborsC = problem.getSuccessors(current);
 
+			final boolean more = tracker.spend(neighborsC.size());
+
 			if (neighborsC.isEmpty()) {
 				return current;
 			}
@@ -82,8 +191,62 @@ public final class HillClimbSearcher<T extends Problem<K>, K> implements Searche
 
 			totalIterations++;
 
-			System.out.println("Chosen     : " + current);
-			System.out.println("Value      : " + evaluateN);
+			listener.iteration(totalIterations, neighborsC.size(), evaluateN, () -> neighbor);
+
+			if (metrics != null) {
+				metrics.step(neighborsC.size(), evaluateN);
+			}
+
+			if (!more) {
+				return current;
+			}
+		}
+	}
+
+	private K searchMoves(MoveProblem<K> problem, SearchBudget.Tracker tracker) {
+		final Neighborhood<K> neighborhood = problem.neighborhood(problem.getInitialState(random));
+
+		while (true) {
+			final int evaluateC = neighborhood.value();
+
+			final int bestMove = bestMove(problem, neighborhood, evaluateC);
+
+			final boolean more = tracker.spend(neighborhood.size());
+
+			if (bestMove == -1) {
+				return neighborhood.state();
+			}
+
+			final int bestValue = evaluateC + neighborhood.delta(bestMove);
+
+			neighborhood.apply(bestMove);
+
+			totalIterations++;
+
+			listener.iteration(totalIterations, neighborhood.size(), bestValue, neighborhood::state);
+
+			if (metrics != null) {
+				metrics.step(neighborhood.size(), bestValue);
+			}
+
+			if (!more) {
+				return neighborhood.state();
+			}
+		}
+	}
+
+	/**
+	 * Scans on the pool when the neighborhood holds at least two ranges of
+	 * MIN_SPLIT moves, in about four ranges per pool thread.
+	 */
+	private int bestMove(MoveProblem<K> problem, Neighborhood<K> neighborhood, int value) {
+		final int size = neighborhood.size();
+
+		if (pool == null || size < MIN_SPLIT * 2) {
+			return MoveScanTask.scan(problem, neighborhood, value, 0, size);
 		}
+
+		final int split = Math.max(size / (4 * pool.getParallelism()), MIN_SPLIT);
+		return pool.invoke(new MoveScanTask<>(problem, neighborhood, value, 0, size, split));
 	}
 }
@@ -2,6 +2,12 @@ package hillclimb;
 
 public final class Main {
 	public static void main(String[] args) {
-		TestHarness.runTest(args[0]);
+		if (args.length > 1 && args[1].equals("parallel")) {
+			TestHarness.runParallelTest(args[0]);
+		} else if (args.length > 1 && args[1].equals("scan")) {
+			TestHarness.runParallelScanTest(args[0]);
+		} else {
+			TestHarness.runTest(args[0]);
+		}
 	}
 }
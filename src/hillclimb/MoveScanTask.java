@@ -0,0 +1,112 @@
+package hillclimb;
+
+import java.util.concurrent.RecursiveTask;
+
+import shared.MoveProblem;
+import shared.Neighborhood;
+
+/**
+ * Finds the best move of a range of a neighborhood, halving the range into
+ * fork join tasks down to a minimum size. Each task scores only its own moves
+ * and returns its local best, and the halves are reduced to the better of the
+ * two, preferring the lower move on ties, so the result is the move a single
+ * sequential scan finds. The neighborhood is only read while scanning.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <K>
+ *            The problem's state type
+ */
+final class MoveScanTask<K> extends RecursiveTask<Integer> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final MoveProblem<K> problem;
+
+	private final Neighborhood<K> neighborhood;
+
+	private final int value;
+
+	private final int from;
+
+	private final int to;
+
+	private final int split;
+
+	/**
+	 * @param problem
+	 *            - the problem which compares values.
+	 * @param neighborhood
+	 *            - the neighborhood to scan.
+	 * @param value
+	 *            - the value of the neighborhood's state.
+	 * @param from
+	 *            - the first move to scan.
+	 * @param to
+	 *            - the move after the last move to scan.
+	 * @param split
+	 *            - the number of moves above which a range is halved.
+	 */
+	MoveScanTask(MoveProblem<K> problem, Neighborhood<K> neighborhood, int value, int from, int to, int split) {
+		this.problem = problem;
+		this.neighborhood = neighborhood;
+		this.value = value;
+		this.from = from;
+		this.to = to;
+		this.split = split;
+	}
+
+	@Override
+	protected Integer compute() {
+		if (to - from <= split) {
+			return scan(problem, neighborhood, value, from, to);
+		}
+
+		final int middle = (from + to) >>> 1;
+
+		final MoveScanTask<K> left = new MoveScanTask<>(problem, neighborhood, value, from, middle, split);
+		left.fork();
+
+		final int right = new MoveScanTask<>(problem, neighborhood, value, middle, to, split).compute();
+		final int best = left.join();
+
+		if (best == -1) {
+			return right;
+		}
+
+		if (right != -1 && problem.betterValue(value + neighborhood.delta(right), value + neighborhood.delta(best))) {
+			return right;
+		}
+
+		return best;
+	}
+
+	/**
+	 * @param problem
+	 *            - the problem which compares values.
+	 * @param neighborhood
+	 *            - the neighborhood to scan.
+	 * @param value
+	 *            - the value of the neighborhood's state.
+	 * @param from
+	 *            - the first move to scan.
+	 * @param to
+	 *            - the move after the last move to scan.
+	 * @return The first of the best moves in the range, or -1 if no move is
+	 *         better than value.
+	 */
+	static <K> int scan(MoveProblem<K> problem, Neighborhood<K> neighborhood, int value, int from, int to) {
+		int bestMove = -1;
+		int bestValue = value;
+
+		for (int move = from; move < to; move++) {
+			final int next = value + neighborhood.delta(move);
+			if (problem.betterValue(next, bestValue)) {
+				bestMove = move;
+				bestValue = next;
+			}
+		}
+
+		return bestMove;
+	}
+}
@@ -0,0 +1,200 @@
+package hillclimb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import shared.Problem;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
+import shared.Searcher;
+import shared.SolverMetrics;
+
+/**
+ * Hill climb search algorithm which runs its random restarts in parallel.
+ *
+ * Every worker repeatedly climbs from a fresh initial state and offers its
+ * result to a shared global best. As in HillClimbSearcher, only climbs which
+ * do not improve on the global best count against maxIterations, so every
+ * worker keeps climbing while the search is still making progress. All
+ * workers stop as soon as one of them reaches a terminating value, more than
+ * maxIterations climbs have failed to improve or the search budget, which the
+ * workers share, is spent. Each worker
+ * draws from its own stream split off the searcher's generator, so workers
+ * never contend on a shared generator. Searches, restarts, steps and the best
+ * score are recorded in the same metrics as HillClimbSearcher.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            The type of the problem
+ * @param <K>
+ *            The problem's state type
+ */
+public final class ParallelHillClimbSearcher<T extends Problem<K>, K> implements Searcher<T, K> {
+
+	private final int maxIterations;
+
+	private final int threads;
+
+	private final SearchListener<K> listener;
+
+	private final SplittableRandom random;
+
+	private final SolverMetrics metrics = SolverMetrics.forSearcher("HillClimbSearcher");
+
+	/**
+	 * Creates a searcher which uses one worker per available processor.
+	 *
+	 * @param maxIterations
+	 *            - the number of restarts which may fail to improve on the
+	 *            best state, counted across all workers.
+	 */
+	public ParallelHillClimbSearcher(int maxIterations) {
+		this(maxIterations, Runtime.getRuntime().availableProcessors(), SearchListener.none());
+	}
+
+	/**
+	 * @param maxIterations
+	 *            - the number of restarts which may fail to improve on the
+	 *            best state, counted across all workers.
+	 * @param threads
+	 *            - the number of workers.
+	 * @param listener
+	 *            - the listener shared by every worker.
+	 */
+	public ParallelHillClimbSearcher(int maxIterations, int threads, SearchListener<K> listener) {
+		this(maxIterations, threads, listener, new SplittableRandom());
+	}
+
+	/**
+	 * @param maxIterations
+	 *            - the number of restarts which may fail to improve on the
+	 *            best state, counted across all workers.
+	 * @param threads
+	 *            - the number of workers.
+	 * @param listener
+	 *            - the listener shared by every worker.
+	 * @param seed
+	 *            - the seed the workers' random streams are split from.
+	 */
+	public ParallelHillClimbSearcher(int maxIterations, int threads, SearchListener<K> listener, long seed) {
+		this(maxIterations, threads, listener, new SplittableRandom(seed));
+	}
+
+	private ParallelHillClimbSearcher(int maxIterations, int threads, SearchListener<K> listener,
+			SplittableRandom random) {
+		this.maxIterations = maxIterations;
+		this.threads = threads;
+		this.listener = listener;
+		this.random = random;
+	}
+
+	@Override
+	public SearchResult<K> search(T problem, SearchBudget budget) {
+		final SearchBudget.Tracker tracker = budget.start();
+		final AtomicReference<Scored<K>> best = new AtomicReference<>();
+		final AtomicInteger climbs = new AtomicInteger();
+		final AtomicInteger iterations = new AtomicInteger();
+		final AtomicBoolean done = new AtomicBoolean();
+
+		if (metrics != null) {
+			metrics.searchStarted();
+		}
+
+		final ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		try {
+			final List<Future<?>> workers = new ArrayList<>();
+
+			for (int i = 0; i < threads; i++) {
+				final SplittableRandom stream = random.split();
+
+				workers.add(pool.submit(() -> {
+					final HillClimbSearcher<T, K> climber = new HillClimbSearcher<>(maxIterations, listener, stream);
+
+					while (!done.get()) {
+						if (climbs.getAndIncrement() > 0) {
+							listener.restart();
+
+							if (metrics != null) {
+								metrics.restart();
+							}
+						}
+
+						final K current = climber.searchHC(problem, tracker);
+						final int currentVal = problem.evaluateState(current);
+
+						if (offer(problem, best, new Scored<>(current, currentVal))) {
+							if (metrics != null) {
+								metrics.best(currentVal, problem);
+							}
+						} else if (iterations.getAndIncrement() >= maxIterations) {
+							done.set(true);
+						}
+
+						if (problem.terminatingValue(currentVal) || !tracker.check()) {
+							done.set(true);
+						}
+					}
+				}));
+			}
+
+			for (final Future<?> worker : workers) {
+				worker.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			done.set(true);
+			pool.shutdownNow();
+		}
+
+		final Scored<K> ret = best.get();
+		return tracker.result(ret.state, ret.value, problem.terminatingValue(ret.value));
+	}
+
+	/**
+	 * Replaces the global best with candidate if candidate is better.
+	 *
+	 * @return Whether candidate became the global best.
+	 */
+	private static <T extends Problem<K>, K> boolean offer(T problem, AtomicReference<Scored<K>> best,
+			Scored<K> candidate) {
+		while (true) {
+			final Scored<K> current = best.get();
+
+			if (current != null && !problem.betterValue(candidate.value, current.value)) {
+				return false;
+			}
+
+			if (best.compareAndSet(current, candidate)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * A state together with its evaluation.
+	 */
+	private static final class Scored<K> {
+		private final K state;
+		private final int value;
+
+		private Scored(K state, int value) {
+			this.state = state;
+			this.value = value;
+		}
+	}
+}
@@ -1,16 +1,35 @@
 package hillclimb;
 
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
-import shared.Position;
+import shared.Board;
+import shared.ConstraintPropagator;
+import shared.ProgressSearchListener;
 import shared.Sodoku;
 
 public final class TestHarness {
 	public static void runTest(String fileName) {
-		final Sodoku s = new Sodoku(fileName);
-		final HillClimbSearcher<Sodoku, List<Position>> hc = new HillClimbSearcher<>(10);
-		final List<Position> state = hc.search(s);
+		final Sodoku s = new Sodoku(ConstraintPropagator.propagate(Board.create(fileName)));
+		final HillClimbSearcher<Sodoku, byte[]> hc = new HillClimbSearcher<>(10,
+				new ProgressSearchListener<>(System.out, 1000));
+		report(s, hc.search(s));
+	}
+
+	public static void runParallelTest(String fileName) {
+		final Sodoku s = new Sodoku(ConstraintPropagator.propagate(Board.create(fileName)));
+		final ParallelHillClimbSearcher<Sodoku, byte[]> hc = new ParallelHillClimbSearcher<>(10,
+				Runtime.getRuntime().availableProcessors(), new ProgressSearchListener<>(System.out, 1000));
+		report(s, hc.search(s));
+	}
+
+	public static void runParallelScanTest(String fileName) {
+		final Sodoku s = new Sodoku(ConstraintPropagator.propagate(Board.create(fileName)));
+		final HillClimbSearcher<Sodoku, byte[]> hc = new HillClimbSearcher<>(10, ForkJoinPool.commonPool(),
+				new ProgressSearchListener<>(System.out, 1000));
+		report(s, hc.search(s));
+	}
 
+	private static void report(Sodoku s, byte[] state) {
 		System.out.println();
 		System.out.printf("Final value: %d\n", s.evaluateState(state));
 		System.out.println("Board:");
@@ -12,25 +12,32 @@ import java.util.List;
 public final class Board {
 
 	/**
-	 * Representation
+	 * Representation, flattened so that (x, y) is stored at x * dimension + y.
 	 */
-	private final int[][] board;
+	private final int[] board;
+
+	private final int dimension;
+
+	/**
+	 * Flat indices of the empty cells, in state vector order.
+	 */
+	private final int[] freeCells;
 
 	/**
-	 * Creates a new board where the list of positions within the state vector
-	 * is mapped onto the board.
+	 * Creates a new board where the values of the state vector are mapped onto
+	 * the free cells of the board.
 	 *
 	 * @param stateVector
 	 *            - the state vector to map onto the board.
 	 * @return A new board with the state vector mapped to it.
 	 */
-	public Board mergeWithVector(List<Position> stateVector) {
+	public Board mergeWithVector(byte[] stateVector) {
 		return mergeWithVector(this, stateVector);
 	}
 
 	/**
-	 * Creates a new board where the list of positions within the state vector
-	 * is mapped onto the board.
+	 * Creates a new board where the values of the state vector are mapped onto
+	 * the free cells of the board.
 	 *
 	 * @param b
 	 *            - the board to merge with the state vector.
@@ -38,38 +45,47 @@ public final class Board {
 	 *            - the state vector to map onto the board.
 	 * @return A new board with the state vector mapped to it.
 	 */
-	public static Board mergeWithVector(Board b, List<Position> stateVector) {
-		final int[][] newBoard = deepCopy(b.board);
+	public static Board mergeWithVector(Board b, byte[] stateVector) {
+		final int[] newBoard = b.board.clone();
 
-		for (final Position item : stateVector) {
-			newBoard[item.getX()][item.getY()] = item.getValue();
+		for (int k = 0; k < stateVector.length; k++) {
+			newBoard[b.freeCells[k]] = stateVector[k];
 		}
 
-		return new Board(newBoard);
+		return new Board(newBoard, b.dimension);
 	}
 
 	/**
 	 * @return The dimension of the board.
 	 */
 	public int getDimension() {
-		return board.length;
+		return dimension;
 	}
 
 	/**
-	 * @param b
-	 *            - A board representation to copy.
-	 * @return Returns a new board representation that is a deep copy of b.
+	 * @return The number of empty cells, which is the length of a state vector
+	 *         for this board.
 	 */
-	private static int[][] deepCopy(int[][] b) {
-		final int[][] ret = new int[b.length][b.length];
+	public int getFreeCellCount() {
+		return freeCells.length;
+	}
 
-		for (int i = 0; i < b.length; i++) {
-			for (int j = 0; j < b.length; j++) {
-				ret[i][j] = b[i][j];
-			}
-		}
+	/**
+	 * @param k
+	 *            - the index within the state vector.
+	 * @return The x coordinate of the k'th free cell.
+	 */
+	public int getFreeX(int k) {
+		return freeCells[k] / dimension;
+	}
 
-		return ret;
+	/**
+	 * @param k
+	 *            - the index within the state vector.
+	 * @return The y coordinate of the k'th free cell.
+	 */
+	public int getFreeY(int k) {
+		return freeCells[k] % dimension;
 	}
 
 	/**
@@ -87,21 +103,73 @@ public final class Board {
 	 * Creates a new board given a board representation.
 	 *
 	 * @param board
-	 *            - the inner representation.
+	 *            - the grid of values, indexed [x][y], where 0 is empty.
 	 * @return A new Board.
 	 */
-	private static Board create(int[][] board) {
-		return new Board(board);
+	public static Board create(int[][] board) {
+		final int dimension = board.length;
+		final int[] flat = new int[dimension * dimension];
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				flat[x * dimension + y] = board[x][y];
+			}
+		}
+
+		return new Board(flat, dimension);
+	}
+
+	/**
+	 * Creates a new board which takes ownership of a flat representation.
+	 *
+	 * @param board
+	 *            - the values, where (x, y) is at x * dimension + y and 0 is
+	 *            empty.
+	 * @param dimension
+	 *            - the dimension of the board.
+	 * @return A new Board.
+	 */
+	static Board create(int[] board, int dimension) {
+		return new Board(board, dimension);
 	}
 
 	/**
 	 * Private constructor.
 	 *
 	 * @param board
-	 *            - The board representation.
+	 *            - The flat board representation.
+	 * @param dimension
+	 *            - The dimension of the board.
 	 */
-	private Board(int[][] board) {
+	private Board(int[] board, int dimension) {
 		this.board = board;
+		this.dimension = dimension;
+		this.freeCells = findFreeCells(board, dimension);
+	}
+
+	/**
+	 * @return the flat indices of the empty cells, in state vector order.
+	 */
+	private static int[] findFreeCells(int[] board, int dimension) {
+		int count = 0;
+		for (final int value : board) {
+			if (value == 0) {
+				count++;
+			}
+		}
+
+		final int[] ret = new int[count];
+		int k = 0;
+
+		for (int y = dimension - 1; y >= 0; y--) {
+			for (int x = 0; x < dimension; x++) {
+				if (board[x * dimension + y] == 0) {
+					ret[k++] = x * dimension + y;
+				}
+			}
+		}
+
+		return ret;
 	}
 
 	/**
@@ -114,23 +182,19 @@ public final class Board {
 	 * @return the board value at (x, y)
 	 */
 	public int getValue(int x, int y) {
-		return board[x][y];
+		return board[x * dimension + y];
 	}
 
 	/**
-	 * Maps this board to a state vector.
+	 * Maps this board to a state vector of positions.
 	 *
 	 * @return The state vector representing this board.
 	 */
 	public List<Position> mapToVector() {
 		final ArrayList<Position> ret = new ArrayList<>();
 
-		for (int y = board.length - 1; y >= 0; y--) {
-			for (int x = 0; x < board.length; x++) {
-				if (board[x][y] == 0) {
-					ret.add(new Position(x, y, board[x][y]));
-				}
-			}
+		for (final int cell : freeCells) {
+			ret.add(new Position(cell / dimension, cell % dimension, board[cell]));
 		}
 
 		return ret;
@@ -138,13 +202,14 @@ public final class Board {
 
 	@Override
 	public String toString() {
-		String ret = "";
-		for (int y = board.length - 1; y >= 0; y--) {
-			for (final int[] element : board) {
-				ret = ret + element[y];
+		final String separator = System.lineSeparator();
+		final StringBuilder ret = new StringBuilder(dimension * (2 * dimension + separator.length()));
+		for (int y = dimension - 1; y >= 0; y--) {
+			for (int x = 0; x < dimension; x++) {
+				ret.append(board[x * dimension + y]);
 			}
-			ret = ret + System.lineSeparator();
+			ret.append(separator);
 		}
-		return ret;
+		return ret.toString();
 	}
 }
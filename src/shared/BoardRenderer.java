@@ -0,0 +1,101 @@
+package shared;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes boards as single lines of the one-puzzle-per-line corpus format,
+ * straight into a caller supplied ByteBuffer.
+ *
+ * A board can be written merged with a state without creating the merged
+ * board, since the free cells of a board are numbered in the same order the
+ * line lists them. Nothing is allocated while rendering, so one buffer can be
+ * reused for any number of boards.
+ *
+ * @author Frank Dattalo
+ */
+public final class BoardRenderer {
+
+	private final CellEncoding encoding;
+
+	/**
+	 * @param encoding
+	 *            - how the cells are written.
+	 */
+	public BoardRenderer(CellEncoding encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * @param dimension
+	 *            - the dimension of the boards.
+	 * @return The largest number of bytes a board of this dimension renders
+	 *         to, not counting the line separator.
+	 */
+	public int maxLineLength(int dimension) {
+		final int cells = dimension * dimension;
+
+		if (encoding != CellEncoding.DELIMITED) {
+			return cells;
+		}
+
+		return cells * (Integer.toString(dimension).length() + 1) - 1;
+	}
+
+	/**
+	 * Writes the cells of board, without a line separator.
+	 *
+	 * @param board
+	 *            - the board to write.
+	 * @param out
+	 *            - the buffer to write to.
+	 */
+	public void render(Board board, ByteBuffer out) {
+		render(board, null, out);
+	}
+
+	/**
+	 * Writes the cells of board with the free cells taken from state, without
+	 * a line separator.
+	 *
+	 * @param board
+	 *            - the board to write.
+	 * @param state
+	 *            - the values of the free cells of board, or null to write
+	 *            them as empty.
+	 * @param out
+	 *            - the buffer to write to.
+	 */
+	public void render(Board board, byte[] state, ByteBuffer out) {
+		final int dimension = board.getDimension();
+		int k = 0;
+
+		for (int y = dimension - 1; y >= 0; y--) {
+			for (int x = 0; x < dimension; x++) {
+				int value = board.getValue(x, y);
+				if (value == 0 && state != null) {
+					value = state[k++];
+				}
+
+				if (encoding == CellEncoding.DELIMITED) {
+					if (x != 0 || y != dimension - 1) {
+						out.put((byte) ',');
+					}
+					putDecimal(value, out);
+				} else {
+					out.put((byte) encoding.encode(value));
+				}
+			}
+		}
+	}
+
+	private static void putDecimal(int value, ByteBuffer out) {
+		int divisor = 1;
+		while (divisor * 10 <= value) {
+			divisor *= 10;
+		}
+
+		for (; divisor > 0; divisor /= 10) {
+			out.put((byte) ('0' + value / divisor % 10));
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package shared;
+
+/**
+ * Flag which asks running searches to stop and return their best state so
+ * far. A token can be shared by any number of searches and cancelled from any
+ * thread.
+ *
+ * @author Frank Dattalo
+ */
+public final class CancellationToken {
+
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Asks every search using this token to stop.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * @return Whether cancel has been called.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+}
@@ -0,0 +1,99 @@
+package shared;
+
+/**
+ * How the cells of a one-puzzle-per-line corpus are written.
+ *
+ * @author Frank Dattalo
+ */
+public enum CellEncoding {
+
+	/**
+	 * One character per cell, '1' to '9', where '.', '0' and '*' are empty.
+	 * This is the common 81 character format for 9x9 boards.
+	 */
+	DIGITS,
+
+	/**
+	 * One character per cell, '1' to '9' then 'A' (10) to 'Z' (35) in either
+	 * case, where '.', '0' and '*' are empty. Covers 16x16 and 25x25 boards.
+	 */
+	ALPHANUMERIC,
+
+	/**
+	 * One character per cell, 'A' (1) to 'Z' (26) in either case, where '.',
+	 * '0' and '*' are empty. Covers 25x25 boards written with letters only.
+	 */
+	LETTERS,
+
+	/**
+	 * Decimal numbers separated by commas or whitespace, where 0 is empty.
+	 * Covers boards of any size.
+	 */
+	DELIMITED;
+
+	/**
+	 * @param value
+	 *            - the value of a cell, 0 if it is empty.
+	 * @return The character of the cell, where empty cells are '.'.
+	 */
+	int encode(int value) {
+		if (value == 0) {
+			return '.';
+		}
+
+		switch (this) {
+		case DIGITS:
+			if (value <= 9) {
+				return '0' + value;
+			}
+			break;
+		case ALPHANUMERIC:
+			if (value <= 9) {
+				return '0' + value;
+			}
+			if (value <= 35) {
+				return 'A' + value - 10;
+			}
+			break;
+		case LETTERS:
+			if (value <= 26) {
+				return 'A' + value - 1;
+			}
+			break;
+		default:
+			throw new UnsupportedOperationException(this + " cells are not single characters");
+		}
+
+		throw new IllegalArgumentException("Value " + value + " cannot be written as " + this);
+	}
+
+	/**
+	 * @param c
+	 *            - the character of a single character cell.
+	 * @return The value of the cell, 0 if it is empty, or -1 if c is not a
+	 *         cell of this encoding.
+	 */
+	int decode(int c) {
+		if (c == '.' || c == '0' || c == '*') {
+			return 0;
+		}
+
+		if (c >= 'a' && c <= 'z') {
+			c -= 'a' - 'A';
+		}
+
+		switch (this) {
+		case DIGITS:
+			return c >= '1' && c <= '9' ? c - '0' : -1;
+		case ALPHANUMERIC:
+			if (c >= '1' && c <= '9') {
+				return c - '0';
+			}
+			return c >= 'A' && c <= 'Z' ? c - 'A' + 10 : -1;
+		case LETTERS:
+			return c >= 'A' && c <= 'Z' ? c - 'A' + 1 : -1;
+		default:
+			throw new UnsupportedOperationException(this + " cells are not single characters");
+		}
+	}
+}
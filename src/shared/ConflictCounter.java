@@ -0,0 +1,249 @@
+package shared;
+
+/**
+ * Counts the conflicts of a state merged onto a board using value bitmasks.
+ *
+ * Every row, column and box is a unit, as is every row and column segment of
+ * a box. The score is the sum of c * (c - 1) over the counts c of the values
+ * of the rows, columns and boxes, less that of the segments, which is the
+ * score computed by {@link ConflictTable}.
+ *
+ * A single pass over the cells in line order ORs each cell's value bit into a
+ * mask per unit. A unit whose mask has a bit per cell holds no equal values
+ * and adds nothing, so only the units the popcount of the mask shows to hold
+ * equal values are counted further, from masks of the values seen twice and
+ * three times. On a nearly solved board that is a handful of units. The value
+ * bits of the givens are worked out once per board.
+ *
+ * Boards of up to 63x63 are supported, as value 0 and every value of the
+ * board need a bit of a long. Instances are safe for concurrent use, each
+ * thread reusing its own scratch arrays, so counting allocates nothing.
+ *
+ * @author Frank Dattalo
+ */
+public final class ConflictCounter {
+
+	private final int dimension;
+
+	private final int partitionSize;
+
+	/**
+	 * The value bit of every given in line order, 0 for free cells.
+	 */
+	private final long[] givenBits;
+
+	private final ThreadLocal<Scratch> scratch;
+
+	/**
+	 * @param b
+	 *            - the board whose states are counted.
+	 */
+	public ConflictCounter(Board b) {
+		dimension = b.getDimension();
+
+		if (!supports(dimension)) {
+			throw new IllegalArgumentException("Boards of dimension " + dimension + " are not supported");
+		}
+
+		partitionSize = (int) Math.sqrt(dimension);
+
+		givenBits = new long[dimension * dimension];
+		final byte[] givens = new byte[dimension * dimension];
+
+		int i = 0;
+		for (int y = dimension - 1; y >= 0; y--) {
+			for (int x = 0; x < dimension; x++, i++) {
+				givens[i] = (byte) b.getValue(x, y);
+				givenBits[i] = givens[i] == 0 ? 0 : 1L << givens[i];
+			}
+		}
+
+		scratch = ThreadLocal.withInitial(() -> new Scratch(dimension, partitionSize, givens));
+	}
+
+	/**
+	 * @param dimension
+	 *            - the dimension of a board.
+	 * @return Whether boards of dimension can be counted.
+	 */
+	public static boolean supports(int dimension) {
+		return dimension < Long.SIZE;
+	}
+
+	/**
+	 * @param state
+	 *            - the values of the free cells of the board.
+	 * @return The number of conflicts of the state merged onto the board.
+	 */
+	public int count(byte[] state) {
+		final Scratch scratch = this.scratch.get();
+		final long[] columns = scratch.columns;
+		final long[] columnSegments = scratch.columnSegments;
+		final long[] boxes = scratch.boxes;
+		final byte[] values = scratch.values;
+		final int[] counts = scratch.counts;
+
+		final int p = partitionSize;
+
+		for (int x = 0; x < dimension; x++) {
+			columns[x] = 0;
+		}
+
+		int ret = 0;
+		int i = 0;
+		int k = 0;
+
+		for (int band = 0; band < p; band++) {
+			final int bandStart = i;
+
+			for (int j = 0; j < dimension; j++) {
+				columnSegments[j] = 0;
+			}
+			for (int j = 0; j < p; j++) {
+				boxes[j] = 0;
+			}
+
+			for (int line = 0; line < p; line++) {
+				final int lineStart = i;
+
+				long row = 0;
+
+				for (int bx = 0, x = 0; bx < p; bx++) {
+					long segment = 0;
+
+					for (int j = 0; j < p; j++, x++, i++) {
+						long bit = givenBits[i];
+						if (bit == 0) {
+							values[i] = state[k];
+							bit = 1L << state[k++];
+						}
+
+						segment |= bit;
+						columns[x] |= bit;
+						columnSegments[x] |= bit;
+					}
+
+					if (Long.bitCount(segment) != p) {
+						ret -= pairs(values, counts, i - p, p, 1);
+					}
+
+					row |= segment;
+					boxes[bx] |= segment;
+				}
+
+				if (Long.bitCount(row) != dimension) {
+					ret += pairs(values, counts, lineStart, dimension, 1);
+				}
+			}
+
+			for (int x = 0; x < dimension; x++) {
+				if (Long.bitCount(columnSegments[x]) != p) {
+					ret -= pairs(values, counts, bandStart + x, 1, p);
+				}
+			}
+
+			for (int bx = 0; bx < p; bx++) {
+				if (Long.bitCount(boxes[bx]) != dimension) {
+					ret += pairs(values, counts, bandStart + bx * p, p, p);
+				}
+			}
+		}
+
+		for (int x = 0; x < dimension; x++) {
+			if (Long.bitCount(columns[x]) != dimension) {
+				ret += pairs(values, counts, x, 1, dimension);
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * @return The sum of c * (c - 1) over the counts c of the values of the
+	 *         cells in a rectangle of width cells on each of height lines,
+	 *         starting at line index start. Masks of the values seen at least
+	 *         once, twice and three times give it as 2 * c2 + 4 * c3, where
+	 *         c2 and c3 are the popcounts of the last two, as long as no value
+	 *         is seen four times.
+	 */
+	private int pairs(byte[] values, int[] counts, int start, int width, int height) {
+		long once = 0;
+		long twice = 0;
+		long thrice = 0;
+		long more = 0;
+
+		for (int line = 0, i = start; line < height; line++, i += dimension) {
+			for (int j = i; j < i + width; j++) {
+				final long bit = 1L << values[j];
+				final long second = once & bit;
+				once |= bit;
+				final long third = twice & second;
+				twice |= second;
+				more |= thrice & third;
+				thrice |= third;
+			}
+		}
+
+		if (more == 0) {
+			return 2 * Long.bitCount(twice) + 4 * Long.bitCount(thrice);
+		}
+
+		return countPairs(values, counts, start, width, height);
+	}
+
+	/**
+	 * @return The sum of c * (c - 1) over the counts c of the values of the
+	 *         cells in a rectangle, adding 2 * c for every cell whose value is
+	 *         held by c cells before it.
+	 */
+	private int countPairs(byte[] values, int[] counts, int start, int width, int height) {
+		int ret = 0;
+
+		for (int line = 0, i = start; line < height; line++, i += dimension) {
+			for (int j = i; j < i + width; j++) {
+				ret += 2 * counts[values[j]]++;
+			}
+		}
+
+		for (int line = 0, i = start; line < height; line++, i += dimension) {
+			for (int j = i; j < i + width; j++) {
+				counts[values[j]] = 0;
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Per thread working memory.
+	 */
+	private static final class Scratch {
+		private final long[] columns;
+
+		/**
+		 * The column segment masks of the current band of boxes.
+		 */
+		private final long[] columnSegments;
+
+		/**
+		 * The box masks of the current band of boxes.
+		 */
+		private final long[] boxes;
+
+		/**
+		 * The values of the cells in line order, of which only the free cells
+		 * are written while counting.
+		 */
+		private final byte[] values;
+
+		private final int[] counts;
+
+		private Scratch(int dimension, int partitionSize, byte[] givens) {
+			columns = new long[dimension];
+			columnSegments = new long[dimension];
+			boxes = new long[partitionSize];
+			values = givens.clone();
+			counts = new int[dimension + 1];
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package shared;
+
+/**
+ * Incremental conflict bookkeeping for a fully assigned Sodoku board.
+ *
+ * Keeps per-row, per-column and per-box value counts, plus the counts for the
+ * row and column segments inside each box, so that the conflict score of the
+ * board after changing a single cell can be computed in O(1).
+ *
+ * The score is identical to the one computed by rescanning the board: every
+ * cell counts the other cells with the same value in its row, its column and
+ * the cells of its box which share neither its row nor its column.
+ *
+ * @author Frank Dattalo
+ */
+public final class ConflictTable {
+
+	private final int dimension;
+	private final int partitionSize;
+	private final int stride;
+
+	private final int[] values;
+
+	private final int[] rows;
+	private final int[] columns;
+	private final int[] boxes;
+	private final int[] rowSegments;
+	private final int[] columnSegments;
+
+	private int score;
+
+	/**
+	 * Builds the table for board b.
+	 *
+	 * @param b
+	 *            - the fully assigned board to track.
+	 */
+	public ConflictTable(Board b) {
+		this(b, new byte[0]);
+	}
+
+	/**
+	 * Builds the table for the state vector merged onto board b, without
+	 * materializing the merged board.
+	 *
+	 * @param b
+	 *            - the board.
+	 * @param state
+	 *            - the values of the free cells of b.
+	 */
+	public ConflictTable(Board b, byte[] state) {
+		dimension = b.getDimension();
+		partitionSize = (int) Math.sqrt(dimension);
+		stride = dimension + 1;
+
+		values = new int[dimension * dimension];
+
+		rows = new int[dimension * stride];
+		columns = new int[dimension * stride];
+		boxes = new int[dimension * stride];
+		rowSegments = new int[dimension * partitionSize * stride];
+		columnSegments = new int[dimension * partitionSize * stride];
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				values[x * dimension + y] = b.getValue(x, y);
+			}
+		}
+
+		for (int k = 0; k < state.length; k++) {
+			values[b.getFreeX(k) * dimension + b.getFreeY(k)] = state[k];
+		}
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				add(x, y, values[x * dimension + y]);
+			}
+		}
+
+		score = computeScore();
+	}
+
+	/**
+	 * @return The number of conflicts on the tracked board.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * @param x
+	 *            - the x coordinate
+	 * @param y
+	 *            - the y coordinate
+	 * @return the tracked value at (x, y)
+	 */
+	public int getValue(int x, int y) {
+		return values[x * dimension + y];
+	}
+
+	/**
+	 * Returns the change in score if the cell at (x, y) were set to value.
+	 * The table is not modified.
+	 *
+	 * @param x
+	 *            - the x coordinate
+	 * @param y
+	 *            - the y coordinate
+	 * @param value
+	 *            - the candidate value.
+	 * @return the score delta of the change.
+	 */
+	public int delta(int x, int y, int value) {
+		final int old = values[x * dimension + y];
+
+		if (old == value) {
+			return 0;
+		}
+
+		final int box = box(x, y);
+
+		int delta = unitDelta(rows, y, old, value);
+		delta += unitDelta(columns, x, old, value);
+		delta += unitDelta(boxes, box, old, value);
+		delta -= unitDelta(rowSegments, rowSegment(x, y), old, value);
+		delta -= unitDelta(columnSegments, columnSegment(x, y), old, value);
+
+		return delta;
+	}
+
+	/**
+	 * Returns the score the board would have if the cell at (x, y) were set to
+	 * value. The table is not modified.
+	 *
+	 * @param x
+	 *            - the x coordinate
+	 * @param y
+	 *            - the y coordinate
+	 * @param value
+	 *            - the candidate value.
+	 * @return the resulting score.
+	 */
+	public int scoreAfterChange(int x, int y, int value) {
+		return score + delta(x, y, value);
+	}
+
+	/**
+	 * Sets the cell at (x, y) to value and updates the score.
+	 *
+	 * @param x
+	 *            - the x coordinate
+	 * @param y
+	 *            - the y coordinate
+	 * @param value
+	 *            - the new value.
+	 * @return the new score.
+	 */
+	public int change(int x, int y, int value) {
+		final int old = values[x * dimension + y];
+
+		if (old == value) {
+			return score;
+		}
+
+		score += delta(x, y, value);
+
+		remove(x, y, old);
+		add(x, y, value);
+		values[x * dimension + y] = value;
+
+		return score;
+	}
+
+	/**
+	 * The change in c * (c - 1) for a unit where one cell moves from value
+	 * old to value.
+	 */
+	private int unitDelta(int[] unit, int index, int old, int value) {
+		final int base = index * stride;
+		return 2 * (unit[base + value] - unit[base + old] + 1);
+	}
+
+	private void add(int x, int y, int value) {
+		rows[y * stride + value]++;
+		columns[x * stride + value]++;
+		boxes[box(x, y) * stride + value]++;
+		rowSegments[rowSegment(x, y) * stride + value]++;
+		columnSegments[columnSegment(x, y) * stride + value]++;
+	}
+
+	private void remove(int x, int y, int value) {
+		rows[y * stride + value]--;
+		columns[x * stride + value]--;
+		boxes[box(x, y) * stride + value]--;
+		rowSegments[rowSegment(x, y) * stride + value]--;
+		columnSegments[columnSegment(x, y) * stride + value]--;
+	}
+
+	private int box(int x, int y) {
+		return (x / partitionSize) * partitionSize + y / partitionSize;
+	}
+
+	private int rowSegment(int x, int y) {
+		return y * partitionSize + x / partitionSize;
+	}
+
+	private int columnSegment(int x, int y) {
+		return x * partitionSize + y / partitionSize;
+	}
+
+	private int computeScore() {
+		int ret = pairs(rows) + pairs(columns) + pairs(boxes);
+		ret -= pairs(rowSegments);
+		ret -= pairs(columnSegments);
+		return ret;
+	}
+
+	/**
+	 * @return the number of ordered pairs of equal values over all units.
+	 */
+	private static int pairs(int[] unit) {
+		int ret = 0;
+		for (final int c : unit) {
+			ret += c * (c - 1);
+		}
+		return ret;
+	}
+}
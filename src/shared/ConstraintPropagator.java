@@ -0,0 +1,276 @@
+package shared;
+
+/**
+ * Constraint propagation pre-pass which fills in the empty cells whose value is
+ * already forced by the givens, so the searchers only search what remains.
+ *
+ * Tracks the candidate values of every empty cell as a bitmask and repeatedly
+ * applies naked singles, hidden singles and box/line reduction until none of
+ * them makes progress. Boards of up to 63x63 are supported, as every value of
+ * the board needs a bit of a long, and larger boards are returned unchanged.
+ *
+ * @author Frank Dattalo
+ */
+public final class ConstraintPropagator {
+
+	private final int dimension;
+	private final int partitionSize;
+
+	private final int[] values;
+	private final long[] candidates;
+
+	/**
+	 * The flat cell indices of every row, then every column, then every box.
+	 */
+	private final int[][] units;
+
+	/**
+	 * The row, column and box unit of every cell.
+	 */
+	private final int[][] unitsOf;
+
+	private boolean contradiction = false;
+
+	/**
+	 * Fills in every cell of b which propagation can deduce. If the givens
+	 * contradict each other propagation stops early and only the deductions
+	 * made so far are kept.
+	 *
+	 * @param b
+	 *            - the board to propagate.
+	 * @return A new board with the forced cells filled in, or b itself if it
+	 *         is too large to propagate.
+	 */
+	public static Board propagate(Board b) {
+		if (!supports(b.getDimension())) {
+			return b;
+		}
+
+		final ConstraintPropagator propagator = new ConstraintPropagator(b);
+		propagator.run();
+		return Board.create(propagator.values, propagator.dimension);
+	}
+
+	/**
+	 * @param dimension
+	 *            - the dimension of a board.
+	 * @return Whether boards of dimension can be propagated.
+	 */
+	public static boolean supports(int dimension) {
+		return dimension < Long.SIZE;
+	}
+
+	private ConstraintPropagator(Board b) {
+		dimension = b.getDimension();
+		partitionSize = (int) Math.sqrt(dimension);
+
+		values = new int[dimension * dimension];
+		candidates = new long[dimension * dimension];
+
+		units = new int[dimension * 3][dimension];
+		unitsOf = new int[dimension * dimension][3];
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				final int cell = x * dimension + y;
+				final int box = (x / partitionSize) * partitionSize + y / partitionSize;
+				final int inBox = (x % partitionSize) * partitionSize + y % partitionSize;
+
+				units[y][x] = cell;
+				units[dimension + x][y] = cell;
+				units[2 * dimension + box][inBox] = cell;
+
+				unitsOf[cell][0] = y;
+				unitsOf[cell][1] = dimension + x;
+				unitsOf[cell][2] = 2 * dimension + box;
+
+				candidates[cell] = ((1L << dimension) - 1) << 1;
+			}
+		}
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				values[x * dimension + y] = b.getValue(x, y);
+			}
+		}
+
+		for (int cell = 0; cell < values.length; cell++) {
+			if (values[cell] != 0) {
+				eliminate(cell, values[cell]);
+			}
+		}
+	}
+
+	private void run() {
+		boolean progress = true;
+
+		while (progress && !contradiction) {
+			progress = nakedSingles();
+			progress |= !contradiction && hiddenSingles();
+			progress |= !contradiction && boxLineReduction();
+		}
+	}
+
+	/**
+	 * Assigns every empty cell which has a single candidate left.
+	 */
+	private boolean nakedSingles() {
+		boolean progress = false;
+
+		for (int cell = 0; cell < values.length && !contradiction; cell++) {
+			if (values[cell] == 0 && Long.bitCount(candidates[cell]) == 1) {
+				assign(cell, Long.numberOfTrailingZeros(candidates[cell]));
+				progress = true;
+			}
+		}
+
+		return progress;
+	}
+
+	/**
+	 * Assigns every value which has a single possible cell left in a unit.
+	 */
+	private boolean hiddenSingles() {
+		boolean progress = false;
+
+		for (final int[] unit : units) {
+			long placed = 0;
+			for (final int cell : unit) {
+				placed |= 1L << values[cell];
+			}
+
+			for (int value = 1; value <= dimension && !contradiction; value++) {
+				if ((placed & (1L << value)) != 0) {
+					continue;
+				}
+
+				int only = -1;
+				int count = 0;
+				for (final int cell : unit) {
+					if ((candidates[cell] & (1L << value)) != 0) {
+						only = cell;
+						count++;
+					}
+				}
+
+				if (count == 0) {
+					contradiction = true;
+				} else if (count == 1) {
+					assign(only, value);
+					placed |= 1L << value;
+					progress = true;
+				}
+			}
+		}
+
+		return progress;
+	}
+
+	/**
+	 * Removes candidates using box/line reduction. When a value's candidates
+	 * within a box all lie on one row or column, it is removed from the rest
+	 * of that line, and when a value's candidates within a row or column all
+	 * lie in one box, it is removed from the rest of that box.
+	 */
+	private boolean boxLineReduction() {
+		boolean progress = false;
+
+		for (int value = 1; value <= dimension; value++) {
+			final long bit = 1L << value;
+
+			for (int u = 0; u < units.length; u++) {
+				final boolean isBox = u >= 2 * dimension;
+
+				int rows = -2;
+				int columns = -2;
+				int boxes = -2;
+
+				for (final int cell : units[u]) {
+					if ((candidates[cell] & bit) != 0) {
+						rows = merge(rows, unitsOf[cell][0]);
+						columns = merge(columns, unitsOf[cell][1]);
+						boxes = merge(boxes, unitsOf[cell][2]);
+					}
+				}
+
+				if (isBox) {
+					progress |= eliminateOutside(rows, u, bit);
+					progress |= eliminateOutside(columns, u, bit);
+				} else {
+					progress |= eliminateOutside(boxes, u, bit);
+				}
+			}
+		}
+
+		return progress;
+	}
+
+	/**
+	 * @return unit if no unit has been seen yet, seen if it equals unit, and
+	 *         -1 once two different units have been seen.
+	 */
+	private static int merge(int seen, int unit) {
+		if (seen == -2) {
+			return unit;
+		}
+		return seen == unit ? seen : -1;
+	}
+
+	/**
+	 * Removes bit from the candidates of the cells of target which are not in
+	 * source.
+	 */
+	private boolean eliminateOutside(int target, int source, long bit) {
+		if (target < 0) {
+			return false;
+		}
+
+		boolean progress = false;
+
+		for (final int cell : units[target]) {
+			if ((candidates[cell] & bit) != 0 && !inUnit(cell, source)) {
+				candidates[cell] &= ~bit;
+				progress = true;
+			}
+		}
+
+		return progress;
+	}
+
+	private boolean inUnit(int cell, int unit) {
+		final int[] of = unitsOf[cell];
+		return of[0] == unit || of[1] == unit || of[2] == unit;
+	}
+
+	private void assign(int cell, int value) {
+		if ((candidates[cell] & (1L << value)) == 0) {
+			contradiction = true;
+			return;
+		}
+
+		values[cell] = value;
+		eliminate(cell, value);
+	}
+
+	/**
+	 * Removes value from the candidates of the peers of cell, which holds
+	 * value.
+	 */
+	private void eliminate(int cell, int value) {
+		candidates[cell] = 0;
+
+		for (final int unit : unitsOf[cell]) {
+			for (final int peer : units[unit]) {
+				if (peer == cell) {
+					continue;
+				}
+
+				candidates[peer] &= ~(1L << value);
+
+				if (values[peer] == value || values[peer] == 0 && candidates[peer] == 0) {
+					contradiction = true;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package shared;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when a SolutionWriter hands its buffered lines to the file. The
+ * buffer is always written out when it is full and when the writer is closed,
+ * whatever the policy.
+ *
+ * @author Frank Dattalo
+ */
+@FunctionalInterface
+public interface FlushPolicy {
+
+	/**
+	 * @param pending
+	 *            - the number of lines buffered since the last flush.
+	 * @param nanosSinceFlush
+	 *            - the time since the last flush.
+	 * @return Whether to flush now.
+	 */
+	public boolean shouldFlush(int pending, long nanosSinceFlush);
+
+	/**
+	 * @return A policy which only flushes when the buffer is full.
+	 */
+	public static FlushPolicy whenFull() {
+		return (pending, nanos) -> false;
+	}
+
+	/**
+	 * @param lines
+	 *            - the number of lines to buffer between flushes.
+	 * @return A policy which flushes every time lines lines are buffered.
+	 */
+	public static FlushPolicy everyLines(int lines) {
+		return (pending, nanos) -> pending >= lines;
+	}
+
+	/**
+	 * @param interval
+	 *            - the longest time a line may stay buffered, as long as
+	 *            lines keep being written.
+	 * @param unit
+	 *            - the unit of interval.
+	 * @return A policy which flushes once interval has passed since the last
+	 *         flush.
+	 */
+	public static FlushPolicy every(long interval, TimeUnit unit) {
+		final long nanos = unit.toNanos(interval);
+		return (pending, since) -> since >= nanos;
+	}
+}
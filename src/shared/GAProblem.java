@@ -1,6 +1,7 @@
 package shared;
 
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * Genetic Algorithm Problem interface.
@@ -15,14 +16,16 @@ public interface GAProblem<T> extends Problem<T> {
 	/**
 	 * @return Returns a new, empty population.
 	 */
-	public Collection<T> newPopulation();
+	public Population<T> newPopulation();
 
 	/**
 	 * @param initialPopulationSize
 	 *            - The initial population size to create.
+	 * @param random
+	 *            - the source of randomness for the individuals.
 	 * @return Returns a population of size initial population size.
 	 */
-	public Collection<T> getInitialPopulation(int initialPopulationSize);
+	public Population<T> getInitialPopulation(int initialPopulationSize, SplittableRandom random);
 
 	/**
 	 * @param state
@@ -32,18 +35,12 @@ public interface GAProblem<T> extends Problem<T> {
 	public int fitnessFunction(T state);
 
 	/**
-	 * @param state
-	 *            - the state to evaluate.
-	 * @return whether this state is fit enough to stop searching
+	 * @param fitness
+	 *            - the fitness value of a state.
+	 * @return whether a state with this fitness is fit enough to stop
+	 *         searching
 	 */
-	public boolean isFitEnough(T state);
-
-	/**
-	 * @param population
-	 *            - the population to search.
-	 * @return Returns the most fit individual for the population.
-	 */
-	public T mostFitIndividual(Collection<T> population);
+	public boolean isFitEnough(int fitness);
 
 	/**
 	 * @return The mutation rate for this problem.
@@ -53,9 +50,11 @@ public interface GAProblem<T> extends Problem<T> {
 	/**
 	 * @param individual
 	 *            - the individual to mutate.
+	 * @param random
+	 *            - the source of randomness for the mutation.
 	 * @return an individual which was mutated based off of the input.
 	 */
-	public T mutate(T individual);
+	public T mutate(T individual, SplittableRandom random);
 
 	/**
 	 * Reproduces x and y to create a child.
@@ -64,16 +63,51 @@ public interface GAProblem<T> extends Problem<T> {
 	 *            - parent 1.
 	 * @param y
 	 *            - parent 2.
+	 * @param random
+	 *            - the source of randomness for the crossover.
 	 * @return the child.
 	 */
-	public T reproduce(T x, T y);
+	public T reproduce(T x, T y, SplittableRandom random);
 
 	/**
 	 * Randomly selects an individual proportionally to its fitness function.
 	 * 
 	 * @param population
 	 *            - the population to search.
+	 * @param random
+	 *            - the source of randomness for the selection.
 	 * @return the randomly selected individual.
 	 */
-	public T proportionalSelect(Collection<T> population);
+	public T proportionalSelect(Population<T> population, SplittableRandom random);
+
+	/**
+	 * Measures how different the individuals of a population are. By default
+	 * this is the fraction of individuals whose fitness no other individual
+	 * shares.
+	 *
+	 * @param population
+	 *            - the population to measure.
+	 * @return The diversity of population, 0 when all individuals are alike.
+	 */
+	public default double diversity(Population<T> population) {
+		final int size = population.size();
+		if (size < 2) {
+			return 0;
+		}
+
+		final int[] fitness = new int[size];
+		for (int i = 0; i < size; i++) {
+			fitness[i] = population.getFitness(i);
+		}
+		Arrays.sort(fitness);
+
+		int unique = 0;
+		for (int i = 0; i < size; i++) {
+			if ((i == 0 || fitness[i] != fitness[i - 1]) && (i == size - 1 || fitness[i] != fitness[i + 1])) {
+				unique++;
+			}
+		}
+
+		return (double) unique / size;
+	}
 }
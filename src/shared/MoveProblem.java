@@ -0,0 +1,19 @@
+package shared;
+
+/**
+ * Local Search Problem whose neighborhoods can be explored move by move.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            - The state type of the problem.
+ */
+public interface MoveProblem<T> extends Problem<T> {
+
+	/**
+	 * @param state
+	 *            - the state to start from.
+	 * @return The neighborhood of state, which works on its own copy of state.
+	 */
+	public Neighborhood<T> neighborhood(T state);
+}
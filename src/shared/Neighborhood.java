@@ -0,0 +1,74 @@
+package shared;
+
+/**
+ * The neighborhood of a state, explored in place by applying and undoing
+ * moves rather than by materializing every successor.
+ *
+ * Moves are numbered from 0 to size() - 1 and are relative to the current
+ * state, so the meaning of a move number changes once a move is applied.
+ * Attributes on the other hand name the assignments moves make, such as a
+ * cell holding a value, and keep their meaning for the whole search.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            - The state type of the problem.
+ */
+public interface Neighborhood<T> {
+
+	/**
+	 * @return The number of moves available from the current state.
+	 */
+	public int size();
+
+	/**
+	 * @return The value of the current state.
+	 */
+	public int value();
+
+	/**
+	 * @param move
+	 *            - the move to score.
+	 * @return The change in value applying the move would cause.
+	 */
+	public int delta(int move);
+
+	/**
+	 * @return The number of distinct attributes.
+	 */
+	public int attributeCount();
+
+	/**
+	 * @param move
+	 *            - the move to describe.
+	 * @return The attribute, in [0, attributeCount()), of the assignment the
+	 *         move makes.
+	 */
+	public int attribute(int move);
+
+	/**
+	 * @param move
+	 *            - the move to describe.
+	 * @return The attribute, in [0, attributeCount()), of the assignment the
+	 *         move replaces.
+	 */
+	public int replacedAttribute(int move);
+
+	/**
+	 * Applies the move to the current state.
+	 *
+	 * @param move
+	 *            - the move to apply.
+	 */
+	public void apply(int move);
+
+	/**
+	 * Reverts the most recently applied move.
+	 */
+	public void undo();
+
+	/**
+	 * @return A copy of the current state.
+	 */
+	public T state();
+}
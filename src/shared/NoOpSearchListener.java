@@ -0,0 +1,24 @@
+package shared;
+
+import java.util.function.Supplier;
+
+/**
+ * Search listener which ignores every event.
+ *
+ * @author Frank Dattalo
+ */
+final class NoOpSearchListener implements SearchListener<Object> {
+
+	static final NoOpSearchListener INSTANCE = new NoOpSearchListener();
+
+	private NoOpSearchListener() {
+	}
+
+	@Override
+	public void iteration(int iteration, int evaluations, int value, Supplier<Object> state) {
+	}
+
+	@Override
+	public void restart() {
+	}
+}
@@ -0,0 +1,195 @@
+package shared;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scored population for a Genetic Algorithm problem.
+ *
+ * The fitness of every individual is computed exactly once, when it is added
+ * or replaced, and is read back by selection, best-of-generation and
+ * termination checks.
+ * Proportional selection uses a cumulative fitness table which is built once
+ * per population and answers each draw with a binary search.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            The state type of the problem.
+ */
+public final class Population<T> {
+
+	private final GAProblem<T> problem;
+
+	private final List<T> individuals = new ArrayList<>();
+
+	private int[] fitness = new int[16];
+
+	private int mostFit = -1;
+
+	/**
+	 * Cumulative fitness table, null until the first selection after a change.
+	 */
+	private double[] cumulative;
+
+	/**
+	 * The last cumulative table built, reused when the size has not changed.
+	 */
+	private double[] cumulativeBuffer = new double[0];
+
+	/**
+	 * Creates a new, empty population.
+	 *
+	 * @param problem
+	 *            - the problem whose fitness function scores the individuals.
+	 */
+	public Population(GAProblem<T> problem) {
+		this.problem = problem;
+	}
+
+	/**
+	 * Adds an individual to the population, evaluating its fitness.
+	 *
+	 * @param individual
+	 *            - the individual to add.
+	 */
+	public void add(T individual) {
+		final int index = individuals.size();
+
+		if (index == fitness.length) {
+			final int[] grown = new int[index * 2];
+			System.arraycopy(fitness, 0, grown, 0, index);
+			fitness = grown;
+		}
+
+		individuals.add(individual);
+		fitness[index] = problem.fitnessFunction(individual);
+		cumulative = null;
+
+		if (mostFit == -1 || fitness[index] > fitness[mostFit]) {
+			mostFit = index;
+		}
+	}
+
+	/**
+	 * Replaces the individual at index, evaluating the new individual's
+	 * fitness.
+	 *
+	 * @param index
+	 *            - the index of the individual to replace.
+	 * @param individual
+	 *            - the individual to put in its place.
+	 */
+	public void set(int index, T individual) {
+		individuals.set(index, individual);
+		fitness[index] = problem.fitnessFunction(individual);
+		cumulative = null;
+
+		if (index != mostFit) {
+			if (fitness[index] > fitness[mostFit]) {
+				mostFit = index;
+			}
+			return;
+		}
+
+		for (int i = 0; i < individuals.size(); i++) {
+			if (fitness[i] > fitness[mostFit]) {
+				mostFit = i;
+			}
+		}
+	}
+
+	/**
+	 * @return The number of individuals in the population.
+	 */
+	public int size() {
+		return individuals.size();
+	}
+
+	/**
+	 * @return Whether the population has no individuals.
+	 */
+	public boolean isEmpty() {
+		return individuals.isEmpty();
+	}
+
+	/**
+	 * @param index
+	 *            - the index of the individual.
+	 * @return The individual at index.
+	 */
+	public T get(int index) {
+		return individuals.get(index);
+	}
+
+	/**
+	 * @param index
+	 *            - the index of the individual.
+	 * @return The stored fitness of the individual at index.
+	 */
+	public int getFitness(int index) {
+		return fitness[index];
+	}
+
+	/**
+	 * @return The index of the most fit individual, or -1 if the population is
+	 *         empty.
+	 */
+	public int mostFitIndex() {
+		return mostFit;
+	}
+
+	/**
+	 * Selects an index with probability proportional to its fitness. Negative
+	 * fitness values are treated as zero, and if no individual has a positive
+	 * fitness every individual is equally likely.
+	 *
+	 * @param random
+	 *            - a uniformly distributed number in [0, 1).
+	 * @return the selected index.
+	 */
+	public int proportionalIndex(double random) {
+		if (cumulative == null) {
+			cumulative = buildCumulative();
+		}
+
+		final int size = individuals.size();
+		final double total = cumulative[size - 1];
+
+		if (total <= 0) {
+			return Math.min((int) (random * size), size - 1);
+		}
+
+		final double target = random * total;
+
+		int low = 0;
+		int high = size - 1;
+
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (cumulative[mid] > target) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+
+		return low;
+	}
+
+	private double[] buildCumulative() {
+		if (cumulativeBuffer.length != individuals.size()) {
+			cumulativeBuffer = new double[individuals.size()];
+		}
+
+		final double[] ret = cumulativeBuffer;
+		double sum = 0;
+
+		for (int i = 0; i < ret.length; i++) {
+			sum += Math.max(fitness[i], 0);
+			ret[i] = sum;
+		}
+
+		return ret;
+	}
+}
@@ -2,6 +2,7 @@ package shared;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Local Search Problem interface.
@@ -32,9 +33,11 @@ public interface Problem<T> {
 	public Collection<T> getSuccessors(T state);
 
 	/**
+	 * @param random
+	 *            - the source of randomness for the state.
 	 * @return The initial state of this problem.
 	 */
-	public T getInitialState();
+	public T getInitialState(SplittableRandom random);
 
 	/**
 	 * @param v
@@ -68,4 +71,11 @@ public interface Problem<T> {
 	 * @return Whether to stop the search.
 	 */
 	public boolean stopSearch(int current, int neighbor);
+
+	/**
+	 * @param state
+	 *            - the state to describe.
+	 * @return A human readable representation of the state.
+	 */
+	public String describeState(T state);
 }
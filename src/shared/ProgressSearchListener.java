@@ -0,0 +1,71 @@
+package shared;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Search listener which reports iterations/sec and evaluations/sec at a fixed
+ * interval rather than on every iteration. An iteration is a hill climbing
+ * step or a genetic algorithm generation.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <K>
+ *            - The state type of the problem.
+ */
+public final class ProgressSearchListener<K> implements SearchListener<K> {
+
+	private final PrintStream out;
+
+	private final long intervalNanos;
+
+	private final LongAdder iterations = new LongAdder();
+
+	private final LongAdder evaluations = new LongAdder();
+
+	private final LongAdder restarts = new LongAdder();
+
+	private final AtomicLong lastReport;
+
+	/**
+	 * @param out
+	 *            - the stream to report to.
+	 * @param intervalMillis
+	 *            - the time between reports in milliseconds.
+	 */
+	public ProgressSearchListener(PrintStream out, long intervalMillis) {
+		this.out = out;
+		this.intervalNanos = intervalMillis * 1000000L;
+		this.lastReport = new AtomicLong(System.nanoTime());
+	}
+
+	@Override
+	public void iteration(int iteration, int evaluations, int value, Supplier<K> state) {
+		iterations.increment();
+		this.evaluations.add(evaluations);
+
+		final long now = System.nanoTime();
+		final long last = lastReport.get();
+
+		if (now - last >= intervalNanos && lastReport.compareAndSet(last, now)) {
+			report(now - last, value);
+		}
+	}
+
+	@Override
+	public void restart() {
+		restarts.increment();
+	}
+
+	/**
+	 * Prints the rates since the last report and resets the counters.
+	 */
+	private void report(long elapsedNanos, int value) {
+		final double seconds = elapsedNanos / 1e9;
+
+		out.printf("Iterations/sec : %.0f, Evaluations/sec : %.0f, Restarts : %d, Value : %d%n",
+				iterations.sumThenReset() / seconds, evaluations.sumThenReset() / seconds, restarts.sum(), value);
+	}
+}
@@ -0,0 +1,60 @@
+package shared;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Search listener which prints every n'th iteration, with its state and
+ * value, to a stream.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <K>
+ *            - The state type of the problem.
+ */
+public final class SampledSearchListener<K> implements SearchListener<K> {
+
+	private final Problem<K> problem;
+
+	private final PrintStream out;
+
+	private final int every;
+
+	private final AtomicLong seen = new AtomicLong();
+
+	/**
+	 * @param problem
+	 *            - the problem, used to describe states.
+	 * @param out
+	 *            - the stream to print to.
+	 * @param every
+	 *            - print one out of every this many iterations.
+	 */
+	public SampledSearchListener(Problem<K> problem, PrintStream out, int every) {
+		this.problem = problem;
+		this.out = out;
+		this.every = every;
+	}
+
+	@Override
+	public void iteration(int iteration, int evaluations, int value, Supplier<K> state) {
+		if (seen.getAndIncrement() % every != 0) {
+			return;
+		}
+
+		final String description = problem.describeState(state.get());
+
+		synchronized (out) {
+			out.println();
+			out.println("Iterations : " + iteration);
+			out.println("Chosen     : " + description);
+			out.println("Value      : " + value);
+		}
+	}
+
+	@Override
+	public void restart() {
+		out.println("Restarting Search");
+	}
+}
@@ -0,0 +1,184 @@
+package shared;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits on how long a search may run: a time limit, a number of evaluations
+ * and a cancellation token, any of which may be absent. Budgets are immutable
+ * and can be reused for any number of searches.
+ *
+ * @author Frank Dattalo
+ */
+public final class SearchBudget {
+
+	private static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, null);
+
+	private final long timeoutNanos;
+
+	private final long maxEvaluations;
+
+	private final CancellationToken token;
+
+	private SearchBudget(long timeoutNanos, long maxEvaluations, CancellationToken token) {
+		this.timeoutNanos = timeoutNanos;
+		this.maxEvaluations = maxEvaluations;
+		this.token = token;
+	}
+
+	/**
+	 * @return A budget without any limit.
+	 */
+	public static SearchBudget unlimited() {
+		return UNLIMITED;
+	}
+
+	/**
+	 * @param timeout
+	 *            - the time the search may run for.
+	 * @param unit
+	 *            - the unit of timeout.
+	 * @return A budget limited by time only.
+	 */
+	public static SearchBudget ofTime(long timeout, TimeUnit unit) {
+		return UNLIMITED.withTime(timeout, unit);
+	}
+
+	/**
+	 * @param maxEvaluations
+	 *            - the number of states or moves the search may evaluate.
+	 * @return A budget limited by evaluations only.
+	 */
+	public static SearchBudget ofEvaluations(long maxEvaluations) {
+		return UNLIMITED.withEvaluations(maxEvaluations);
+	}
+
+	/**
+	 * @param timeout
+	 *            - the time the search may run for.
+	 * @param unit
+	 *            - the unit of timeout.
+	 * @return A copy of this budget with the time limit replaced.
+	 */
+	public SearchBudget withTime(long timeout, TimeUnit unit) {
+		return new SearchBudget(unit.toNanos(timeout), maxEvaluations, token);
+	}
+
+	/**
+	 * @param maxEvaluations
+	 *            - the number of states or moves the search may evaluate.
+	 * @return A copy of this budget with the evaluation limit replaced.
+	 */
+	public SearchBudget withEvaluations(long maxEvaluations) {
+		return new SearchBudget(timeoutNanos, maxEvaluations, token);
+	}
+
+	/**
+	 * @param token
+	 *            - the token which cancels the search.
+	 * @return A copy of this budget with the cancellation token replaced.
+	 */
+	public SearchBudget withToken(CancellationToken token) {
+		return new SearchBudget(timeoutNanos, maxEvaluations, token);
+	}
+
+	/**
+	 * Starts the clock for one search.
+	 *
+	 * @return A tracker of the budget spent by the search.
+	 */
+	public Tracker start() {
+		return new Tracker(this);
+	}
+
+	/**
+	 * The budget spent by one running search. Trackers are safe to share
+	 * between the workers of a parallel search.
+	 */
+	public static final class Tracker {
+
+		private final SearchBudget budget;
+
+		private final long start = System.nanoTime();
+
+		private final AtomicLong evaluations = new AtomicLong();
+
+		private volatile SearchResult.Outcome stopped;
+
+		private Tracker(SearchBudget budget) {
+			this.budget = budget;
+		}
+
+		/**
+		 * Records evaluations and checks every limit.
+		 *
+		 * @param count
+		 *            - the number of states or moves just evaluated.
+		 * @return Whether the search may continue.
+		 */
+		public boolean spend(long count) {
+			final long spent = evaluations.addAndGet(count);
+
+			if (stopped != null) {
+				return false;
+			}
+
+			if (budget.token != null && budget.token.isCancelled()) {
+				stopped = SearchResult.Outcome.CANCELLED;
+			} else if (spent >= budget.maxEvaluations) {
+				stopped = SearchResult.Outcome.OUT_OF_EVALUATIONS;
+			} else if (budget.timeoutNanos != Long.MAX_VALUE && System.nanoTime() - start >= budget.timeoutNanos) {
+				stopped = SearchResult.Outcome.TIMED_OUT;
+			}
+
+			return stopped == null;
+		}
+
+		/**
+		 * Checks every limit without recording any evaluations.
+		 *
+		 * @return Whether the search may continue.
+		 */
+		public boolean check() {
+			return spend(0);
+		}
+
+		/**
+		 * @return The number of evaluations which may still be spent.
+		 */
+		public long remainingEvaluations() {
+			return Math.max(budget.maxEvaluations - evaluations.get(), 0);
+		}
+
+		/**
+		 * @return The number of evaluations spent so far.
+		 */
+		public long getEvaluations() {
+			return evaluations.get();
+		}
+
+		/**
+		 * @return The time since the search started, in nanoseconds.
+		 */
+		public long getElapsedNanos() {
+			return System.nanoTime() - start;
+		}
+
+		/**
+		 * Ends the search.
+		 *
+		 * @param state
+		 *            - the best state found.
+		 * @param value
+		 *            - the value of state.
+		 * @param solved
+		 *            - whether value is a terminating value.
+		 * @return The result of the search.
+		 */
+		public <K> SearchResult<K> result(K state, int value, boolean solved) {
+			final SearchResult.Outcome outcome = solved ? SearchResult.Outcome.SOLVED
+					: stopped != null ? stopped : SearchResult.Outcome.GAVE_UP;
+			return new SearchResult<>(state, value, outcome, evaluations.get(), getElapsedNanos());
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package shared;
+
+import java.util.function.Supplier;
+
+/**
+ * Callback interface for observing the progress of a search.
+ *
+ * Parallel searchers share one listener between their workers, so
+ * implementations must be safe to call from several threads.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <K>
+ *            - The state type of the problem.
+ */
+public interface SearchListener<K> {
+
+	/**
+	 * Called after every hill climbing step or genetic algorithm generation.
+	 *
+	 * @param iteration
+	 *            - the number of iterations performed so far.
+	 * @param evaluations
+	 *            - the number of states or moves evaluated by this iteration.
+	 * @param value
+	 *            - the value of the chosen state.
+	 * @param state
+	 *            - supplies the chosen state. It may copy, so only call it
+	 *            when the state is needed.
+	 */
+	public void iteration(int iteration, int evaluations, int value, Supplier<K> state);
+
+	/**
+	 * Called when a search restarts from a new initial state.
+	 */
+	public void restart();
+
+	/**
+	 * @return A listener which ignores every event.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K> SearchListener<K> none() {
+		return (SearchListener<K>) NoOpSearchListener.INSTANCE;
+	}
+}
@@ -0,0 +1,110 @@
+package shared;
+
+/**
+ * The best state found by a search, together with its value and how the
+ * search went.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <K>
+ *            - The state type of the problem.
+ */
+public final class SearchResult<K> {
+
+	/**
+	 * Why a search returned.
+	 */
+	public enum Outcome {
+		/**
+		 * A state with a terminating value was found.
+		 */
+		SOLVED,
+
+		/**
+		 * The searcher used up its own iterations or restarts.
+		 */
+		GAVE_UP,
+
+		/**
+		 * The time limit of the budget was reached.
+		 */
+		TIMED_OUT,
+
+		/**
+		 * The evaluation limit of the budget was reached.
+		 */
+		OUT_OF_EVALUATIONS,
+
+		/**
+		 * The budget's cancellation token was cancelled.
+		 */
+		CANCELLED
+	}
+
+	private final K state;
+	private final int value;
+	private final Outcome outcome;
+	private final long evaluations;
+	private final long nanos;
+
+	/**
+	 * @param state
+	 *            - the best state found.
+	 * @param value
+	 *            - the value of state.
+	 * @param outcome
+	 *            - why the search returned.
+	 * @param evaluations
+	 *            - the number of states or moves evaluated.
+	 * @param nanos
+	 *            - the time the search took.
+	 */
+	SearchResult(K state, int value, Outcome outcome, long evaluations, long nanos) {
+		this.state = state;
+		this.value = value;
+		this.outcome = outcome;
+		this.evaluations = evaluations;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * @return The best state found.
+	 */
+	public K getState() {
+		return state;
+	}
+
+	/**
+	 * @return The value of the best state, as given by evaluateState.
+	 */
+	public int getValue() {
+		return value;
+	}
+
+	/**
+	 * @return Why the search returned.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * @return The number of states or moves evaluated.
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * @return The time the search took, in nanoseconds.
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s with value %d after %d evaluations in %.3f ms", outcome, value, evaluations,
+				nanos / 1e6);
+	}
+}
@@ -12,5 +12,26 @@ package shared;
  */
 public interface Searcher<T extends Problem<K>, K> {
 
-	public K search(T problem);
+	/**
+	 * Searches until the problem is solved or the searcher gives up.
+	 *
+	 * @param problem
+	 *            - the problem to search.
+	 * @return The best state found.
+	 */
+	public default K search(T problem) {
+		return search(problem, SearchBudget.unlimited()).getState();
+	}
+
+	/**
+	 * Searches until the problem is solved, the searcher gives up or the
+	 * budget is spent.
+	 *
+	 * @param problem
+	 *            - the problem to search.
+	 * @param budget
+	 *            - the limits on the search.
+	 * @return The best state found so far, with its value and statistics.
+	 */
+	public SearchResult<K> search(T problem, SearchBudget budget);
 }
@@ -3,17 +3,23 @@ package shared;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the Sodoku Local Search Problem.
  *
+ * A state is a byte[] holding the value of every free cell of the board, in
+ * the order of the board's free cell table.
+ *
  * @author Frank Dattalo
  */
-public class Sodoku implements Problem<List<Position>> {
+public class Sodoku implements MoveProblem<byte[]> {
 
 	private final Board board;
 
+	private final ConflictCounter counter;
+
 	/**
 	 * Public constructor.
 	 *
@@ -21,33 +27,71 @@ public class Sodoku implements Problem<List<Position>> {
 	 *            - The file location of the board.
 	 */
 	public Sodoku(String b) {
-		board = Board.create(b);
+		this(Board.create(b));
+	}
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param b
+	 *            - The board.
+	 */
+	public Sodoku(Board b) {
+		this(b, true);
 	}
 
 	/**
-	 * Returns the evaluation of this state.
+	 * Constructor for subclasses which evaluate states their own way.
+	 *
+	 * @param b
+	 *            - The board.
+	 * @param countConflicts
+	 *            - whether evaluateState is this class's, and so needs the
+	 *            bitmask conflict counter built for the board.
+	 */
+	protected Sodoku(Board b, boolean countConflicts) {
+		board = b;
+		counter = countConflicts && ConflictCounter.supports(b.getDimension()) ? new ConflictCounter(b) : null;
+	}
+
+	/**
+	 * Returns the evaluation of this state, counted with value bitmasks for
+	 * boards small enough to have them.
 	 *
 	 * @param state
 	 *            - the state to evaluate.
 	 * @return The value associated with that state.
 	 */
 	@Override
-	public int evaluateState(List<Position> state) {
-		int ret = 0;
-
-		final Board toEvaluate = board.mergeWithVector(state);
-
-		final int partitionSize = (int) Math.sqrt(toEvaluate.getDimension());
-
-		final int length = toEvaluate.getDimension();
+	public int evaluateState(byte[] state) {
+		return counter != null ? counter.count(state) : conflictTable(state).getScore();
+	}
 
-		for (int y = length - 1; y >= 0; y--) {
-			for (int x = 0; x < length; x++) {
-				ret += countOfConflicts(toEvaluate, x, y, length, partitionSize);
-			}
-		}
+	/**
+	 * Builds the incremental conflict bookkeeping for this state.
+	 *
+	 * @param state
+	 *            - the state to track.
+	 * @return the conflict table of the state merged onto the board.
+	 */
+	public ConflictTable conflictTable(byte[] state) {
+		return new ConflictTable(board, state);
+	}
 
-		return ret;
+	/**
+	 * Returns the evaluation the state tracked by table would have if its k'th
+	 * free cell were set to value, without rebuilding anything.
+	 *
+	 * @param table
+	 *            - the conflict table of a state.
+	 * @param k
+	 *            - the index of the free cell within the state.
+	 * @param value
+	 *            - the candidate value.
+	 * @return The value associated with the changed state.
+	 */
+	public int scoreAfterChange(ConflictTable table, int k, int value) {
+		return table.scoreAfterChange(board.getFreeX(k), board.getFreeY(k), value);
 	}
 
 	/**
@@ -58,15 +102,17 @@ public class Sodoku implements Problem<List<Position>> {
 	 * @return the successors.
 	 */
 	@Override
-	public Collection<List<Position>> getSuccessors(List<Position> state) {
-		final List<List<Position>> ret = new ArrayList<>();
+	public Collection<byte[]> getSuccessors(byte[] state) {
+		final List<byte[]> ret = new ArrayList<>();
 
-		for (int k = 0; k < state.size(); k++) {
-			final int oldVal = state.get(k).getValue();
-			for (int i = 1; i <= 4; i++) {
+		final int dimension = board.getDimension();
+
+		for (int k = 0; k < state.length; k++) {
+			final int oldVal = state[k];
+			for (int i = 1; i <= dimension; i++) {
 				if (oldVal != i) {
-					final List<Position> stateCopy = copy(state);
-					stateCopy.set(k, stateCopy.get(k).mapNewValue(i));
+					final byte[] stateCopy = copy(state);
+					stateCopy[k] = (byte) i;
 					ret.add(stateCopy);
 				}
 			}
@@ -76,11 +122,27 @@ public class Sodoku implements Problem<List<Position>> {
 	}
 
 	/**
+	 * @param state
+	 *            - the state to start from.
+	 * @return The neighborhood of state, which works on its own copy of state.
+	 */
+	@Override
+	public Neighborhood<byte[]> neighborhood(byte[] state) {
+		return new SodokuNeighborhood(board, state);
+	}
+
+	/**
+	 * @param random
+	 *            - the source of randomness for the state.
 	 * @return The initial state of this problem.
 	 */
 	@Override
-	public List<Position> getInitialState() {
-		return board.mapToVector().stream().map(i -> i.mapNewValue(getRandomNumber())).collect(Collectors.toList());
+	public byte[] getInitialState(SplittableRandom random) {
+		final byte[] ret = new byte[board.getFreeCellCount()];
+		for (int k = 0; k < ret.length; k++) {
+			ret[k] = (byte) getRandomNumber(random);
+		}
+		return ret;
 	}
 
 	/**
@@ -98,7 +160,7 @@ public class Sodoku implements Problem<List<Position>> {
 	 * @return Returns whether v1 is better than v2.
 	 */
 	@Override
-	public List<List<Position>> sortBestFirst(Collection<List<Position>> p) {
+	public List<byte[]> sortBestFirst(Collection<byte[]> p) {
 		return p.stream().sorted((a, b) -> evaluateState(a) - evaluateState(b)).collect(Collectors.toList());
 	}
 
@@ -128,6 +190,24 @@ public class Sodoku implements Problem<List<Position>> {
 		return neighbor >= current;
 	}
 
+	/**
+	 * @param state
+	 *            - the state to describe.
+	 * @return A human readable representation of the state.
+	 */
+	@Override
+	public String describeState(byte[] state) {
+		final StringBuilder ret = new StringBuilder("[");
+		for (int k = 0; k < state.length; k++) {
+			if (k > 0) {
+				ret.append(", ");
+			}
+			ret.append('(').append(board.getFreeX(k) + 1).append(", ").append(board.getFreeY(k) + 1).append("): ")
+					.append(state[k]);
+		}
+		return ret.append(']').toString();
+	}
+
 	/**
 	 * @return The board representation.
 	 */
@@ -136,10 +216,12 @@ public class Sodoku implements Problem<List<Position>> {
 	}
 
 	/**
+	 * @param random
+	 *            - the source of randomness.
 	 * @return a random number between 1 and board.dimension()
 	 */
-	protected int getRandomNumber() {
-		return (int) Math.ceil((Math.random() * board.getDimension()));
+	protected int getRandomNumber(SplittableRandom random) {
+		return random.nextInt(board.getDimension()) + 1;
 	}
 
 	/**
@@ -149,9 +231,32 @@ public class Sodoku implements Problem<List<Position>> {
 	 *            the state to copy.
 	 * @return a copy of l.
 	 */
-	protected static List<Position> copy(List<Position> l) {
-		final List<Position> ret = new ArrayList<>();
-		l.stream().forEach(ret::add);
+	protected static byte[] copy(byte[] l) {
+		return l.clone();
+	}
+
+	/**
+	 * Counts the conflicts of a fully assigned board by rescanning every row,
+	 * column and box for every position. This is the reference the incremental
+	 * {@link ConflictTable} agrees with.
+	 *
+	 * @param b
+	 *            - the board to analyze.
+	 * @return the number of conflicts.
+	 */
+	public static int countConflicts(Board b) {
+		int ret = 0;
+
+		final int partitionSize = (int) Math.sqrt(b.getDimension());
+
+		final int length = b.getDimension();
+
+		for (int y = length - 1; y >= 0; y--) {
+			for (int x = 0; x < length; x++) {
+				ret += countOfConflicts(b, x, y, length, partitionSize);
+			}
+		}
+
 		return ret;
 	}
 
@@ -0,0 +1,296 @@
+package shared;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reader for large puzzle corpora with one puzzle per line.
+ *
+ * Each line holds the cells of one board row by row from the top left, so a
+ * 9x9 board is a line of 81 characters. The file is memory mapped and the
+ * cells are parsed straight out of the mapping, one window of at most 1GB at a
+ * time, so files of any size can be read. Blank lines and lines starting with
+ * '#' are skipped.
+ *
+ * @author Frank Dattalo
+ */
+public final class SodokuCorpusReader implements Iterator<Board>, Closeable {
+
+	private static final long WINDOW = 1L << 30;
+
+	private final FileChannel channel;
+
+	private final long size;
+
+	private final CellEncoding encoding;
+
+	private MappedByteBuffer window;
+
+	private long windowStart;
+
+	/**
+	 * Position of the next line within the window.
+	 */
+	private int position;
+
+	private long lineNumber;
+
+	private Board next;
+
+	/**
+	 * Reusable buffer for the cells of a delimited line.
+	 */
+	private int[] fields = new int[81];
+
+	/**
+	 * Opens a corpus file.
+	 *
+	 * @param f
+	 *            - the file to read from.
+	 * @param encoding
+	 *            - how the cells are written.
+	 */
+	public SodokuCorpusReader(File f, CellEncoding encoding) {
+		this.encoding = encoding;
+
+		try {
+			channel = FileChannel.open(f.toPath(), StandardOpenOption.READ);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		try {
+			size = channel.size();
+			map(0);
+		} catch (final IOException e) {
+			throw closeChannel(new UncheckedIOException(e));
+		} catch (final RuntimeException e) {
+			throw closeChannel(e);
+		}
+	}
+
+	/**
+	 * Reads every board of a corpus file.
+	 *
+	 * @param f
+	 *            - the file to read from.
+	 * @param encoding
+	 *            - how the cells are written.
+	 * @param consumer
+	 *            - receives the boards in file order.
+	 * @return The number of boards read.
+	 */
+	public static long forEach(File f, CellEncoding encoding, Consumer<Board> consumer) {
+		long ret = 0;
+
+		try (SodokuCorpusReader reader = new SodokuCorpusReader(f, encoding)) {
+			while (reader.hasNext()) {
+				consumer.accept(reader.next());
+				ret++;
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * @return The remaining boards as a sequential stream, which closes this
+	 *         reader when it is closed.
+	 */
+	public Stream<Board> stream() {
+		final Spliterator<Board> spliterator = Spliterators.spliteratorUnknownSize(this,
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null) {
+			next = readBoard();
+		}
+		return next != null;
+	}
+
+	@Override
+	public Board next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final Board ret = next;
+		next = null;
+		return ret;
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Closes the channel of a reader which failed to open, as the reader is
+	 * never returned and nothing else can close it.
+	 *
+	 * @return e, with any failure to close added as suppressed.
+	 */
+	private RuntimeException closeChannel(RuntimeException e) {
+		try {
+			channel.close();
+		} catch (final IOException suppressed) {
+			e.addSuppressed(suppressed);
+		}
+		return e;
+	}
+
+	private Board readBoard() {
+		while (windowStart + position < size) {
+			final int end = lineEnd();
+			final int start = position;
+
+			position = end + 1;
+			lineNumber++;
+
+			int last = end;
+			if (last > start && window.get(last - 1) == '\r') {
+				last--;
+			}
+
+			if (last > start && window.get(start) != '#') {
+				return encoding == CellEncoding.DELIMITED ? parseDelimited(start, last) : parseCharacters(start, last);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return The index within the window of the newline ending the line at
+	 *         position, or the window's limit for the last line of the file.
+	 */
+	private int lineEnd() {
+		boolean remapped = false;
+
+		while (true) {
+			for (int i = position; i < window.limit(); i++) {
+				if (window.get(i) == '\n') {
+					return i;
+				}
+			}
+
+			if (windowStart + window.limit() >= size) {
+				return window.limit();
+			}
+
+			if (remapped) {
+				throw new IllegalArgumentException("Line " + (lineNumber + 1) + " is longer than " + WINDOW + " bytes");
+			}
+
+			map(windowStart + position);
+			remapped = true;
+		}
+	}
+
+	private void map(long start) {
+		try {
+			window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW, size - start));
+			windowStart = start;
+			position = 0;
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Board parseCharacters(int start, int end) {
+		final int length = end - start;
+		final int dimension = dimensionOf(length);
+
+		final int[] board = new int[length];
+
+		for (int i = 0; i < length; i++) {
+			board[cell(i, dimension)] = checked(encoding.decode(window.get(start + i)), dimension);
+		}
+
+		return Board.create(board, dimension);
+	}
+
+	private Board parseDelimited(int start, int end) {
+		int count = 0;
+		int value = 0;
+		boolean inNumber = false;
+
+		for (int i = start; i <= end; i++) {
+			final int c = i < end ? window.get(i) : ',';
+
+			if (c >= '0' && c <= '9') {
+				value = value * 10 + c - '0';
+				inNumber = true;
+			} else if (c == ',' || c == ' ' || c == '\t') {
+				if (inNumber) {
+					if (count == fields.length) {
+						final int[] grown = new int[count * 2];
+						System.arraycopy(fields, 0, grown, 0, count);
+						fields = grown;
+					}
+					fields[count++] = value;
+				}
+				value = 0;
+				inNumber = false;
+			} else {
+				throw malformed();
+			}
+		}
+
+		final int dimension = dimensionOf(count);
+
+		final int[] board = new int[count];
+
+		for (int i = 0; i < count; i++) {
+			board[cell(i, dimension)] = checked(fields[i], dimension);
+		}
+
+		return Board.create(board, dimension);
+	}
+
+	/**
+	 * @return The flat board index of the i'th cell of a line.
+	 */
+	private static int cell(int i, int dimension) {
+		final int x = i % dimension;
+		final int y = dimension - 1 - i / dimension;
+		return x * dimension + y;
+	}
+
+	private int dimensionOf(int cells) {
+		final int dimension = (int) Math.round(Math.sqrt(cells));
+		if (dimension * dimension != cells) {
+			throw malformed();
+		}
+		return dimension;
+	}
+
+	private int checked(int value, int dimension) {
+		if (value < 0 || value > dimension) {
+			throw malformed();
+		}
+		return value;
+	}
+
+	private IllegalArgumentException malformed() {
+		return new IllegalArgumentException("Malformed puzzle on line " + lineNumber);
+	}
+}
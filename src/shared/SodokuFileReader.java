@@ -2,6 +2,8 @@ package shared;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -29,9 +31,49 @@ public final class SodokuFileReader {
 			e.printStackTrace();
 		}
 
-		final int size = Integer.parseInt(in.nextLine());
+		ret = read(in, Integer.parseInt(in.nextLine()));
 
-		ret = new int[size][size];
+		in.close();
+
+		return ret;
+	}
+
+	/**
+	 * Reads every board from file f, where the file holds one or more boards
+	 * one after another, optionally separated by blank lines.
+	 *
+	 * @param f
+	 *            the file to read from.
+	 * @return the grids of values, in file order.
+	 */
+	public static List<int[][]> readAll(File f) {
+
+		final List<int[][]> ret = new ArrayList<>();
+
+		Scanner in = null;
+		try {
+			in = new Scanner(f);
+		} catch (final FileNotFoundException e) {
+			e.printStackTrace();
+		}
+
+		while (in.hasNextLine()) {
+			final String line = in.nextLine().trim();
+			if (!line.isEmpty()) {
+				ret.add(read(in, Integer.parseInt(line)));
+			}
+		}
+
+		in.close();
+
+		return ret;
+	}
+
+	/**
+	 * Reads the rows of a board of the given size.
+	 */
+	private static int[][] read(Scanner in, int size) {
+		final int[][] ret = new int[size][size];
 
 		for (int lineNumber = size - 1; lineNumber >= 0; lineNumber--) {
 			final String line = in.nextLine();
@@ -45,8 +87,6 @@ public final class SodokuFileReader {
 			}
 		}
 
-		in.close();
-
 		return ret;
 	}
 }
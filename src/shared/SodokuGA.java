@@ -1,19 +1,22 @@
 package shared;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * Sodoku Genetic Algorithm Local Search Problem implementation.
  *
  * @author Frank Dattalo
  */
-public final class SodokuGA extends Sodoku implements GAProblem<List<Position>> {
+public class SodokuGA extends Sodoku implements GAProblem<byte[]> {
 
 	private final int maxConflicts;
 
+	/**
+	 * Cache of state values, or null if every state is evaluated.
+	 */
+	private final StateValueCache cache;
+
 	/**
 	 * Public constructor.
 	 *
@@ -21,25 +24,67 @@ public final class SodokuGA extends Sodoku implements GAProblem<List<Position>>
 	 *            the file location of the board.
 	 */
 	public SodokuGA(String b) {
-		super(b);
+		this(Board.create(b));
+	}
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param b
+	 *            the board.
+	 */
+	public SodokuGA(Board b) {
+		this(b, 0);
+	}
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param b
+	 *            the board.
+	 * @param cacheCapacity
+	 *            the number of state values the fitness function caches, or 0
+	 *            to evaluate every state.
+	 */
+	public SodokuGA(Board b, int cacheCapacity) {
+		this(b, cacheCapacity, true);
+	}
+
+	/**
+	 * Constructor for subclasses which evaluate states their own way.
+	 *
+	 * @param b
+	 *            the board.
+	 * @param cacheCapacity
+	 *            the number of state values the fitness function caches, or 0
+	 *            to evaluate every state.
+	 * @param countConflicts
+	 *            whether evaluateState is Sodoku's, and so needs the bitmask
+	 *            conflict counter built for the board.
+	 */
+	protected SodokuGA(Board b, int cacheCapacity, boolean countConflicts) {
+		super(b, countConflicts);
 		final int dimension = getBoard().getDimension();
 		final int maxConflictsPerPiece = (dimension - 1) * 3;
 		final int maxPieces = dimension * 2;
 		maxConflicts = maxConflictsPerPiece * maxPieces;
+		cache = cacheCapacity > 0 ? new StateValueCache(cacheCapacity, dimension, this::evaluateState) : null;
 	}
 
 	/**
 	 * @param initialPopulationSize
 	 *            - The initial population size to create.
+	 * @param random
+	 *            - the source of randomness for the individuals.
 	 * @return Returns a population of size initial population size.
 	 */
 	@Override
-	public Collection<List<Position>> getInitialPopulation(int initialPopulationSize) {
-		final List<List<Position>> ret = new ArrayList<>();
+	public Population<byte[]> getInitialPopulation(int initialPopulationSize, SplittableRandom random) {
+		final Population<byte[]> ret = newPopulation();
 		for (int i = 0; i < initialPopulationSize; i++) {
-			ret.add(getInitialState());
+			ret.add(getInitialState(random));
 		}
-		return ret.stream().filter(l -> !l.isEmpty()).collect(Collectors.toList());
+		return ret;
 	}
 
 	/**
@@ -48,29 +93,27 @@ public final class SodokuGA extends Sodoku implements GAProblem<List<Position>>
 	 * @return Returns the fitness value for the state
 	 */
 	@Override
-	public int fitnessFunction(List<Position> state) {
-		return maxConflicts - evaluateState(state);
+	public int fitnessFunction(byte[] state) {
+		return maxConflicts - (cache == null ? evaluateState(state) : cache.evaluate(state));
 	}
 
 	/**
-	 * @param state
-	 *            - the state to evaluate.
-	 * @return whether this state is fit enough to stop searching
+	 * @return The cache in front of the fitness function, or null if caching
+	 *         is disabled.
 	 */
-	@Override
-	public boolean isFitEnough(List<Position> state) {
-		return evaluateState(state) == 0;
+	public StateValueCache getCache() {
+		return cache;
 	}
 
 	/**
-	 * @param population
-	 *            - the population to search.
-	 * @return Returns the most fit individual for the population.
+	 * @param fitness
+	 *            - the fitness value of a state.
+	 * @return whether a state with this fitness is fit enough to stop
+	 *         searching
 	 */
 	@Override
-	public List<Position> mostFitIndividual(Collection<List<Position>> population) {
-		return population.stream().sorted((a, b) -> fitnessFunction(b) - fitnessFunction(a)).findFirst()
-				.orElseGet(ArrayList::new);
+	public boolean isFitEnough(int fitness) {
+		return fitness == maxConflicts;
 	}
 
 	/**
@@ -84,22 +127,24 @@ public final class SodokuGA extends Sodoku implements GAProblem<List<Position>>
 	/**
 	 * @param individual
 	 *            - the individual to mutate.
+	 * @param random
+	 *            - the source of randomness for the mutation.
 	 * @return an individual which was mutated based off of the input.
 	 */
 	@Override
-	public List<Position> mutate(List<Position> individual) {
-		final List<Position> copy = copy(individual);
+	public byte[] mutate(byte[] individual, SplittableRandom random) {
+		final byte[] copy = copy(individual);
 
-		final int index1 = randomIndex(copy);
+		final int index1 = randomIndex(copy, random);
 
-		int value = getRandomNumber();
-		final int currentValue = copy.get(index1).getValue();
+		int value = getRandomNumber(random);
+		final int currentValue = copy[index1];
 
 		while (value == currentValue) {
-			value = getRandomNumber();
+			value = getRandomNumber(random);
 		}
 
-		copy.set(index1, copy.get(index1).mapNewValue(value));
+		copy[index1] = (byte) value;
 
 		return copy;
 	}
@@ -111,19 +156,18 @@ public final class SodokuGA extends Sodoku implements GAProblem<List<Position>>
 	 *            - parent 1.
 	 * @param y
 	 *            - parent 2.
+	 * @param random
+	 *            - the source of randomness for the crossover.
 	 * @return the child.
 	 */
 	@Override
-	public List<Position> reproduce(List<Position> x, List<Position> y) {
-		final int cutoff = randomIndex(x);
+	public byte[] reproduce(byte[] x, byte[] y, SplittableRandom random) {
+		final int cutoff = randomIndex(x, random);
 
-		final List<Position> child = new ArrayList<>();
+		final byte[] child = new byte[x.length];
 
-		for (int i = 0; i < x.size(); i++) {
-			final List<Position> toGetFrom = i <= cutoff ? x : y;
-
-			child.add(toGetFrom.get(i));
-		}
+		System.arraycopy(x, 0, child, 0, cutoff + 1);
+		System.arraycopy(y, cutoff + 1, child, cutoff + 1, x.length - cutoff - 1);
 
 		return child;
 	}
@@ -133,39 +177,56 @@ public final class SodokuGA extends Sodoku implements GAProblem<List<Position>>
 	 *
 	 * @param population
 	 *            - the population to search.
+	 * @param random
+	 *            - the source of randomness for the selection.
 	 * @return the randomly selected individual.
 	 */
 	@Override
-	public List<Position> proportionalSelect(Collection<List<Position>> populationCol) {
-		final List<List<Position>> population = populationCol.stream().collect(Collectors.toList());
-		final List<Integer> fitness = population.stream().map(this::fitnessFunction).collect(Collectors.toList());
-		final int totalFitness = fitness.stream().reduce(0, (i, j) -> i + j);
-		double currentStart = 0.0;
-		final List<Double> fitnessPercents = fitness.stream().map((f) -> (double) f / totalFitness)
-				.collect(Collectors.toList());
-
-		final double random = Math.random();
-
-		for (int i = 0; i < population.size(); i++) {
-			final double fitnessPercent = fitnessPercents.get(i);
-			if (currentStart <= random && random <= currentStart + fitnessPercent) {
-				return population.get(i);
-			}
-			currentStart += fitnessPercent;
-		}
+	public byte[] proportionalSelect(Population<byte[]> population, SplittableRandom random) {
+		return population.get(population.proportionalIndex(random.nextDouble()));
+	}
 
-		throw new RuntimeException("This should never happen");
+	private static int randomIndex(byte[] ps, SplittableRandom random) {
+		return random.nextInt(ps.length);
 	}
 
-	private static int randomIndex(List<Position> ps) {
-		return (int) Math.floor(Math.random() * ps.size());
+	/**
+	 * Measures the fraction of genes which differ from the most common value
+	 * of their cell within the population.
+	 *
+	 * @param population
+	 *            - the population to measure.
+	 * @return The diversity of population, 0 when all individuals are alike.
+	 */
+	@Override
+	public double diversity(Population<byte[]> population) {
+		final int size = population.size();
+		final int genes = getBoard().getFreeCellCount();
+
+		if (size == 0 || genes == 0) {
+			return 0;
+		}
+
+		final int[] counts = new int[getBoard().getDimension() + 1];
+		long differing = 0;
+
+		for (int k = 0; k < genes; k++) {
+			int common = 0;
+			for (int i = 0; i < size; i++) {
+				common = Math.max(common, ++counts[population.get(i)[k]]);
+			}
+			differing += size - common;
+			Arrays.fill(counts, 0);
+		}
+
+		return (double) differing / ((long) size * genes);
 	}
 
 	/**
 	 * @return Returns a new, empty population.
 	 */
 	@Override
-	public Collection<List<Position>> newPopulation() {
-		return new ArrayList<>();
+	public Population<byte[]> newPopulation() {
+		return new Population<>(this);
 	}
 }
@@ -0,0 +1,99 @@
+package shared;
+
+/**
+ * Neighborhood of a Sodoku state where a move sets one free cell to one of the
+ * other values it could take. Move k * (dimension - 1) + j sets the k'th free
+ * cell to the j'th value, counting from 1 and skipping the cell's current
+ * value. Attribute k * dimension + v - 1 is the k'th free cell holding v.
+ *
+ * @author Frank Dattalo
+ */
+final class SodokuNeighborhood implements Neighborhood<byte[]> {
+
+	private final Board board;
+	private final int choices;
+
+	private final byte[] state;
+	private final ConflictTable table;
+
+	private int lastCell = -1;
+	private int lastValue;
+
+	/**
+	 * @param board
+	 *            - the board the state belongs to.
+	 * @param state
+	 *            - the state to start from, which is copied.
+	 */
+	SodokuNeighborhood(Board board, byte[] state) {
+		this.board = board;
+		this.choices = board.getDimension() - 1;
+		this.state = state.clone();
+		this.table = new ConflictTable(board, this.state);
+	}
+
+	@Override
+	public int size() {
+		return state.length * choices;
+	}
+
+	@Override
+	public int value() {
+		return table.getScore();
+	}
+
+	@Override
+	public int delta(int move) {
+		final int k = move / choices;
+		return table.delta(board.getFreeX(k), board.getFreeY(k), valueOf(k, move % choices));
+	}
+
+	@Override
+	public int attributeCount() {
+		return state.length * (choices + 1);
+	}
+
+	@Override
+	public int attribute(int move) {
+		final int k = move / choices;
+		return k * (choices + 1) + valueOf(k, move % choices) - 1;
+	}
+
+	@Override
+	public int replacedAttribute(int move) {
+		final int k = move / choices;
+		return k * (choices + 1) + state[k] - 1;
+	}
+
+	@Override
+	public void apply(int move) {
+		final int k = move / choices;
+		lastCell = k;
+		lastValue = state[k];
+		set(k, valueOf(k, move % choices));
+	}
+
+	@Override
+	public void undo() {
+		if (lastCell == -1) {
+			throw new IllegalStateException("No move to undo");
+		}
+		set(lastCell, lastValue);
+		lastCell = -1;
+	}
+
+	@Override
+	public byte[] state() {
+		return state.clone();
+	}
+
+	private int valueOf(int k, int choice) {
+		final int value = choice + 1;
+		return value >= state[k] ? value + 1 : value;
+	}
+
+	private void set(int k, int value) {
+		state[k] = (byte) value;
+		table.change(board.getFreeX(k), board.getFreeY(k), value);
+	}
+}
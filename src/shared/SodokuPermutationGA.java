@@ -0,0 +1,326 @@
+package shared;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sodoku Genetic Algorithm Local Search Problem where every box holds a
+ * permutation of the digits missing from it.
+ *
+ * The free cells of each box are always filled with exactly the digits its
+ * givens leave out, so box constraints hold by construction. Mutation swaps
+ * two free cells within a box, crossover takes each whole box from one parent
+ * or the other, and evaluation only has to count row and column conflicts.
+ * The successors and neighborhoods used by the other searchers are made of the
+ * same swaps, so they keep the boxes intact as well.
+ *
+ * @author Frank Dattalo
+ */
+public final class SodokuPermutationGA extends SodokuGA {
+
+	/**
+	 * The state indices of the free cells of every box.
+	 */
+	private final int[][] boxCells;
+
+	/**
+	 * The digits missing from every box.
+	 */
+	private final byte[][] boxDigits;
+
+	/**
+	 * The boxes which have at least two free cells, and so can be mutated.
+	 */
+	private final int[] swappable;
+
+	/**
+	 * The free cells swapped by every neighborhood move.
+	 */
+	private final int[] moveFirst;
+	private final int[] moveSecond;
+
+	/**
+	 * The flat index, x * dimension + y, of every free cell.
+	 */
+	private final int[] freeCells;
+
+	/**
+	 * Per thread board values for evaluation, which start out as the givens
+	 * and of which only the free cells are written.
+	 */
+	private final ThreadLocal<int[]> values;
+
+	/**
+	 * Per thread value counts of a row or column for evaluation.
+	 */
+	private final ThreadLocal<int[]> counts;
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param b
+	 *            the file location of the board.
+	 */
+	public SodokuPermutationGA(String b) {
+		this(Board.create(b));
+	}
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param b
+	 *            the board.
+	 */
+	public SodokuPermutationGA(Board b) {
+		this(b, 0);
+	}
+
+	/**
+	 * Public constructor.
+	 *
+	 * @param b
+	 *            the board.
+	 * @param cacheCapacity
+	 *            the number of state values the fitness function caches, or 0
+	 *            to evaluate every state.
+	 */
+	public SodokuPermutationGA(Board b, int cacheCapacity) {
+		// Evaluation only counts rows and columns, so no conflict counter is
+		// built.
+		super(b, cacheCapacity, false);
+
+		final int dimension = b.getDimension();
+		final int partitionSize = (int) Math.sqrt(dimension);
+
+		final int[] givens = new int[dimension * dimension];
+		final boolean[][] present = new boolean[dimension][dimension + 1];
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				givens[x * dimension + y] = b.getValue(x, y);
+				present[box(x, y, partitionSize)][b.getValue(x, y)] = true;
+			}
+		}
+
+		values = ThreadLocal.withInitial(givens::clone);
+		counts = ThreadLocal.withInitial(() -> new int[dimension + 1]);
+
+		freeCells = new int[b.getFreeCellCount()];
+		final int[] free = new int[dimension];
+		for (int k = 0; k < b.getFreeCellCount(); k++) {
+			freeCells[k] = b.getFreeX(k) * dimension + b.getFreeY(k);
+			free[box(b.getFreeX(k), b.getFreeY(k), partitionSize)]++;
+		}
+
+		boxCells = new int[dimension][];
+		boxDigits = new byte[dimension][];
+
+		int swappableCount = 0;
+		int moveCount = 0;
+
+		for (int box = 0; box < dimension; box++) {
+			boxCells[box] = new int[free[box]];
+			boxDigits[box] = new byte[free[box]];
+
+			// Givens which repeat a digit leave more free cells than missing
+			// digits, those cells are padded with digits in order.
+			int digit = 1;
+			for (int i = 0; i < free[box]; i++) {
+				while (digit <= dimension && present[box][digit]) {
+					digit++;
+				}
+				boxDigits[box][i] = (byte) (digit <= dimension ? digit++ : 1 + i % dimension);
+			}
+
+			if (free[box] > 1) {
+				swappableCount++;
+			}
+			moveCount += free[box] * (free[box] - 1) / 2;
+		}
+
+		final int[] filled = new int[dimension];
+		for (int k = 0; k < b.getFreeCellCount(); k++) {
+			final int box = box(b.getFreeX(k), b.getFreeY(k), partitionSize);
+			boxCells[box][filled[box]++] = k;
+		}
+
+		swappable = new int[swappableCount];
+		for (int box = 0, i = 0; box < dimension; box++) {
+			if (free[box] > 1) {
+				swappable[i++] = box;
+			}
+		}
+
+		moveFirst = new int[moveCount];
+		moveSecond = new int[moveCount];
+		int move = 0;
+		for (final int[] cells : boxCells) {
+			for (int i = 0; i < cells.length; i++) {
+				for (int j = i + 1; j < cells.length; j++, move++) {
+					moveFirst[move] = cells[i];
+					moveSecond[move] = cells[j];
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param random
+	 *            - the source of randomness for the state.
+	 * @return An initial state where each box holds a random permutation of
+	 *         its missing digits.
+	 */
+	@Override
+	public byte[] getInitialState(SplittableRandom random) {
+		final byte[] ret = new byte[getBoard().getFreeCellCount()];
+
+		for (int box = 0; box < boxCells.length; box++) {
+			final int[] cells = boxCells[box];
+			final byte[] digits = boxDigits[box].clone();
+
+			for (int i = digits.length - 1; i > 0; i--) {
+				final int j = random.nextInt(i + 1);
+				final byte tmp = digits[i];
+				digits[i] = digits[j];
+				digits[j] = tmp;
+			}
+
+			for (int i = 0; i < cells.length; i++) {
+				ret[cells[i]] = digits[i];
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Counts the row and column conflicts of a state. Box conflicts are always
+	 * zero for states built by this problem. Nothing is allocated.
+	 *
+	 * @param state
+	 *            - the state to evaluate.
+	 * @return The value associated with that state.
+	 */
+	@Override
+	public int evaluateState(byte[] state) {
+		final int dimension = getBoard().getDimension();
+
+		final int[] values = this.values.get();
+		for (int k = 0; k < state.length; k++) {
+			values[freeCells[k]] = state[k];
+		}
+
+		final int[] counts = this.counts.get();
+		int ret = 0;
+
+		for (int y = 0; y < dimension; y++) {
+			for (int x = 0; x < dimension; x++) {
+				ret += 2 * counts[values[x * dimension + y]]++;
+			}
+			Arrays.fill(counts, 0);
+		}
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				ret += 2 * counts[values[x * dimension + y]]++;
+			}
+			Arrays.fill(counts, 0);
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Returns the states made by swapping two free cells of one box.
+	 *
+	 * @param state
+	 *            - the state to get the successors of.
+	 * @return the successors.
+	 */
+	@Override
+	public Collection<byte[]> getSuccessors(byte[] state) {
+		final List<byte[]> ret = new ArrayList<>(moveFirst.length);
+
+		for (int move = 0; move < moveFirst.length; move++) {
+			final byte[] stateCopy = copy(state);
+			stateCopy[moveFirst[move]] = state[moveSecond[move]];
+			stateCopy[moveSecond[move]] = state[moveFirst[move]];
+			ret.add(stateCopy);
+		}
+
+		return ret;
+	}
+
+	/**
+	 * @param state
+	 *            - the state to start from.
+	 * @return The neighborhood of state, whose moves swap two free cells of one
+	 *         box, which works on its own copy of state.
+	 */
+	@Override
+	public Neighborhood<byte[]> neighborhood(byte[] state) {
+		return new SodokuSwapNeighborhood(getBoard(), moveFirst, moveSecond, state);
+	}
+
+	/**
+	 * @param individual
+	 *            - the individual to mutate.
+	 * @param random
+	 *            - the source of randomness for the mutation.
+	 * @return a copy of individual with two free cells of one box swapped.
+	 */
+	@Override
+	public byte[] mutate(byte[] individual, SplittableRandom random) {
+		final byte[] copy = copy(individual);
+
+		if (swappable.length == 0) {
+			return copy;
+		}
+
+		final int[] cells = boxCells[swappable[random.nextInt(swappable.length)]];
+
+		final int i = random.nextInt(cells.length);
+		int j = random.nextInt(cells.length - 1);
+		if (j >= i) {
+			j++;
+		}
+
+		final byte tmp = copy[cells[i]];
+		copy[cells[i]] = copy[cells[j]];
+		copy[cells[j]] = tmp;
+
+		return copy;
+	}
+
+	/**
+	 * Reproduces x and y by taking each box whole from one of them.
+	 *
+	 * @param x
+	 *            - parent 1.
+	 * @param y
+	 *            - parent 2.
+	 * @param random
+	 *            - the source of randomness for the crossover.
+	 * @return the child.
+	 */
+	@Override
+	public byte[] reproduce(byte[] x, byte[] y, SplittableRandom random) {
+		final byte[] child = new byte[x.length];
+
+		for (final int[] cells : boxCells) {
+			final byte[] parent = random.nextBoolean() ? x : y;
+			for (final int k : cells) {
+				child[k] = parent[k];
+			}
+		}
+
+		return child;
+	}
+
+	private static int box(int x, int y, int partitionSize) {
+		return (x / partitionSize) * partitionSize + y / partitionSize;
+	}
+}
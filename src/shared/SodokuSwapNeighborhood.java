@@ -0,0 +1,169 @@
+package shared;
+
+/**
+ * Neighborhood of a Sodoku state where a move swaps the values of two free
+ * cells of the same box, so each box keeps holding the same digits. Only row
+ * and column conflicts are counted, as for {@link SodokuPermutationGA}.
+ *
+ * Move m swaps the free cells first[m] and second[m]. Attribute k * dimension
+ * + v - 1 is the k'th free cell holding v, and the attributes of a move are
+ * those of its first cell.
+ *
+ * @author Frank Dattalo
+ */
+final class SodokuSwapNeighborhood implements Neighborhood<byte[]> {
+
+	private final Board board;
+	private final int dimension;
+	private final int stride;
+
+	private final int[] first;
+	private final int[] second;
+
+	private final byte[] state;
+
+	/**
+	 * The count of every value in every row and every column.
+	 */
+	private final int[] rows;
+	private final int[] columns;
+
+	private int score;
+
+	private int lastMove = -1;
+
+	/**
+	 * @param board
+	 *            - the board the state belongs to.
+	 * @param first
+	 *            - the first free cell of every move.
+	 * @param second
+	 *            - the second free cell of every move, in the box of the first.
+	 * @param state
+	 *            - the state to start from, which is copied.
+	 */
+	SodokuSwapNeighborhood(Board board, int[] first, int[] second, byte[] state) {
+		this.board = board;
+		this.dimension = board.getDimension();
+		this.stride = dimension + 1;
+		this.first = first;
+		this.second = second;
+		this.state = state.clone();
+
+		rows = new int[dimension * stride];
+		columns = new int[dimension * stride];
+
+		for (int x = 0; x < dimension; x++) {
+			for (int y = 0; y < dimension; y++) {
+				if (board.getValue(x, y) != 0) {
+					add(x, y, board.getValue(x, y), 1);
+				}
+			}
+		}
+
+		for (int k = 0; k < state.length; k++) {
+			add(board.getFreeX(k), board.getFreeY(k), state[k], 1);
+		}
+
+		for (int i = 0; i < rows.length; i++) {
+			score += rows[i] * (rows[i] - 1) + columns[i] * (columns[i] - 1);
+		}
+	}
+
+	@Override
+	public int size() {
+		return first.length;
+	}
+
+	@Override
+	public int value() {
+		return score;
+	}
+
+	@Override
+	public int delta(int move) {
+		final int a = first[move];
+		final int b = second[move];
+		final int va = state[a];
+		final int vb = state[b];
+
+		if (va == vb) {
+			return 0;
+		}
+
+		return lineDelta(rows, board.getFreeY(a), board.getFreeY(b), va, vb)
+				+ lineDelta(columns, board.getFreeX(a), board.getFreeX(b), va, vb);
+	}
+
+	@Override
+	public int attributeCount() {
+		return state.length * dimension;
+	}
+
+	@Override
+	public int attribute(int move) {
+		return first[move] * dimension + state[second[move]] - 1;
+	}
+
+	@Override
+	public int replacedAttribute(int move) {
+		return first[move] * dimension + state[first[move]] - 1;
+	}
+
+	@Override
+	public void apply(int move) {
+		score += delta(move);
+		swap(move);
+		lastMove = move;
+	}
+
+	@Override
+	public void undo() {
+		if (lastMove == -1) {
+			throw new IllegalStateException("No move to undo");
+		}
+		score += delta(lastMove);
+		swap(lastMove);
+		lastMove = -1;
+	}
+
+	@Override
+	public byte[] state() {
+		return state.clone();
+	}
+
+	/**
+	 * @return The change in score of moving va out of line la and into line
+	 *         lb, and vb the other way.
+	 */
+	private int lineDelta(int[] counts, int la, int lb, int va, int vb) {
+		if (la == lb) {
+			return 0;
+		}
+
+		// Removing one of c equal values removes 2 * (c - 1), adding one to c
+		// equal values adds 2 * c.
+		return 2 * (counts[la * stride + vb] - counts[la * stride + va] + 1)
+				+ 2 * (counts[lb * stride + va] - counts[lb * stride + vb] + 1);
+	}
+
+	private void swap(int move) {
+		final int a = first[move];
+		final int b = second[move];
+		final int va = state[a];
+		final int vb = state[b];
+
+		add(board.getFreeX(a), board.getFreeY(a), va, -1);
+		add(board.getFreeX(b), board.getFreeY(b), vb, -1);
+		add(board.getFreeX(a), board.getFreeY(a), vb, 1);
+		add(board.getFreeX(b), board.getFreeY(b), va, 1);
+
+		state[a] = (byte) vb;
+		state[b] = (byte) va;
+	}
+
+	private void add(int x, int y, int value, int count) {
+		rows[y * stride + value] += count;
+		columns[x * stride + value] += count;
+	}
+}
@@ -0,0 +1,130 @@
+package shared;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes solved boards to a file, one line per board in the corpus format
+ * read by SodokuCorpusReader.
+ *
+ * Lines are rendered straight into one direct buffer which is handed to the
+ * file channel in bulk, when it cannot hold another line, when the flush
+ * policy asks for it, and on close. Writers are not safe for concurrent use.
+ *
+ * @author Frank Dattalo
+ */
+public final class SolutionWriter implements Closeable {
+
+	private final FileChannel channel;
+
+	private final BoardRenderer renderer;
+
+	private final FlushPolicy policy;
+
+	private final ByteBuffer buffer;
+
+	private int pending = 0;
+
+	private long lastFlush = System.nanoTime();
+
+	/**
+	 * Creates or truncates a file to write to.
+	 *
+	 * @param f
+	 *            - the file to write to.
+	 * @param encoding
+	 *            - how the cells are written.
+	 * @param bufferSize
+	 *            - the size of the buffer in bytes, which must hold at least
+	 *            one line.
+	 * @param policy
+	 *            - when to flush besides when the buffer is full.
+	 */
+	public SolutionWriter(File f, CellEncoding encoding, int bufferSize, FlushPolicy policy) {
+		this.renderer = new BoardRenderer(encoding);
+		this.policy = policy;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+
+		try {
+			channel = FileChannel.open(f.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes board as one line.
+	 *
+	 * @param board
+	 *            - the board to write.
+	 */
+	public void write(Board board) {
+		write(board, null);
+	}
+
+	/**
+	 * Writes board merged with state as one line.
+	 *
+	 * @param board
+	 *            - the board to write.
+	 * @param state
+	 *            - the values of the free cells of board.
+	 */
+	public void write(Board board, byte[] state) {
+		final int length = renderer.maxLineLength(board.getDimension()) + 1;
+
+		if (length > buffer.capacity()) {
+			throw new IllegalArgumentException("A line of " + length + " bytes does not fit the buffer");
+		}
+
+		if (buffer.remaining() < length) {
+			flush();
+		}
+
+		renderer.render(board, state, buffer);
+		buffer.put((byte) '\n');
+		pending++;
+
+		if (policy.shouldFlush(pending, System.nanoTime() - lastFlush)) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes every buffered line to the file.
+	 */
+	public void flush() {
+		buffer.flip();
+
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		buffer.clear();
+		pending = 0;
+		lastFlush = System.nanoTime();
+	}
+
+	@Override
+	public void close() {
+		try {
+			flush();
+		} finally {
+			try {
+				channel.close();
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
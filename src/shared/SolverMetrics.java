@@ -0,0 +1,236 @@
+package shared;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and gauges of the searches run by one kind of searcher, published
+ * as the MBean geneticsodoku:type=SolverMetrics,name=&lt;searcher&gt;.
+ *
+ * Metrics are only collected when the JVM is started with
+ * -Dgeneticsodoku.metrics=true. Otherwise searchers hold no metrics at all,
+ * and their only cost is a null check per step or generation. Counters are
+ * LongAdders and the best score is only ever replaced by a better one, so
+ * searchers running in parallel can share one instance.
+ *
+ * @author Frank Dattalo
+ */
+public final class SolverMetrics implements SolverMetricsMBean {
+
+	private static final boolean ENABLED = Boolean.getBoolean("geneticsodoku.metrics");
+
+	private static final Map<String, SolverMetrics> REGISTERED = new ConcurrentHashMap<>();
+
+	/**
+	 * The best score before any has been recorded, which no int can be.
+	 */
+	private static final long NO_SCORE = Long.MIN_VALUE;
+
+	private final LongAdder searches = new LongAdder();
+	private final LongAdder evaluations = new LongAdder();
+	private final LongAdder successors = new LongAdder();
+	private final LongAdder restarts = new LongAdder();
+	private final LongAdder generations = new LongAdder();
+
+	private final AtomicLong bestScore = new AtomicLong(NO_SCORE);
+
+	private volatile int lastScore;
+	private volatile double diversity;
+
+	/**
+	 * When the metrics were created or last reset.
+	 */
+	private volatile long startNanos = System.nanoTime();
+
+	private SolverMetrics() {
+	}
+
+	/**
+	 * @return Whether metrics are collected in this JVM.
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * @param name
+	 *            - the name of the searcher.
+	 * @return The metrics of the searcher, registered with the platform MBean
+	 *         server the first time they are requested, or null if metrics
+	 *         are disabled.
+	 */
+	public static SolverMetrics forSearcher(String name) {
+		if (!ENABLED) {
+			return null;
+		}
+
+		return REGISTERED.computeIfAbsent(name, SolverMetrics::register);
+	}
+
+	private static SolverMetrics register(String name) {
+		final SolverMetrics ret = new SolverMetrics();
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		try {
+			final ObjectName objectName = new ObjectName("geneticsodoku:type=SolverMetrics,name=" + name);
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+			server.registerMBean(ret, objectName);
+		} catch (final JMException e) {
+			throw new IllegalStateException("Could not register the metrics of " + name, e);
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Records the start of a search.
+	 */
+	public void searchStarted() {
+		searches.increment();
+	}
+
+	/**
+	 * Records a hill climbing step.
+	 *
+	 * @param generated
+	 *            - the number of successors or moves generated and evaluated.
+	 * @param value
+	 *            - the value of the state stepped to.
+	 */
+	public void step(int generated, int value) {
+		successors.add(generated);
+		evaluations.add(generated);
+		lastScore = value;
+	}
+
+	/**
+	 * Records a hill climbing restart.
+	 */
+	public void restart() {
+		restarts.increment();
+	}
+
+	/**
+	 * Records a genetic algorithm generation.
+	 *
+	 * @param evaluated
+	 *            - the number of individuals evaluated.
+	 * @param value
+	 *            - the fitness of the most fit individual.
+	 * @param diversity
+	 *            - the diversity of the generation.
+	 */
+	public void generation(int evaluated, int value, double diversity) {
+		generations.increment();
+		evaluations.add(evaluated);
+		lastScore = value;
+		this.diversity = diversity;
+	}
+
+	/**
+	 * Records the best value of a search, which becomes the best score if the
+	 * problem rates it better than every value recorded before.
+	 *
+	 * @param value
+	 *            - the best value.
+	 * @param problem
+	 *            - the problem which was searched.
+	 */
+	public void best(int value, Problem<?> problem) {
+		offer(value, current -> problem.betterValue(value, current));
+	}
+
+	/**
+	 * Records the best fitness of a search, which becomes the best score if it
+	 * is higher than every fitness recorded before.
+	 *
+	 * @param fitness
+	 *            - the best fitness.
+	 */
+	public void bestFitness(int fitness) {
+		offer(fitness, current -> fitness > current);
+	}
+
+	/**
+	 * Makes score the best score if there is none yet or beats the current one.
+	 */
+	private void offer(int score, IntPredicate beats) {
+		long current;
+		do {
+			current = bestScore.get();
+			if (current != NO_SCORE && !beats.test((int) current)) {
+				return;
+			}
+		} while (!bestScore.compareAndSet(current, score));
+	}
+
+	@Override
+	public long getSearches() {
+		return searches.sum();
+	}
+
+	@Override
+	public long getEvaluations() {
+		return evaluations.sum();
+	}
+
+	@Override
+	public long getSuccessorsGenerated() {
+		return successors.sum();
+	}
+
+	@Override
+	public long getRestarts() {
+		return restarts.sum();
+	}
+
+	@Override
+	public long getGenerations() {
+		return generations.sum();
+	}
+
+	@Override
+	public int getLastScore() {
+		return lastScore;
+	}
+
+	@Override
+	public int getBestScore() {
+		final long ret = bestScore.get();
+		return ret == NO_SCORE ? 0 : (int) ret;
+	}
+
+	@Override
+	public double getPopulationDiversity() {
+		return diversity;
+	}
+
+	@Override
+	public double getEvaluationsPerSecond() {
+		final long elapsed = System.nanoTime() - startNanos;
+		return elapsed <= 0 ? 0 : evaluations.sum() * 1e9 / elapsed;
+	}
+
+	@Override
+	public synchronized void reset() {
+		searches.reset();
+		evaluations.reset();
+		successors.reset();
+		restarts.reset();
+		generations.reset();
+		lastScore = 0;
+		bestScore.set(NO_SCORE);
+		diversity = 0;
+		startNanos = System.nanoTime();
+	}
+}
@@ -0,0 +1,63 @@
+package shared;
+
+/**
+ * Management interface of SolverMetrics, published through JMX.
+ *
+ * @author Frank Dattalo
+ */
+public interface SolverMetricsMBean {
+
+	/**
+	 * @return The number of searches started.
+	 */
+	public long getSearches();
+
+	/**
+	 * @return The number of states, moves or individuals evaluated.
+	 */
+	public long getEvaluations();
+
+	/**
+	 * @return The number of successors or moves generated by hill climbing.
+	 */
+	public long getSuccessorsGenerated();
+
+	/**
+	 * @return The number of hill climbing restarts.
+	 */
+	public long getRestarts();
+
+	/**
+	 * @return The number of genetic algorithm generations.
+	 */
+	public long getGenerations();
+
+	/**
+	 * @return The value of the most recent step or generation.
+	 */
+	public int getLastScore();
+
+	/**
+	 * @return The best value of any search since the last reset, or 0 if
+	 *         none has been recorded. For the genetic algorithm this is the
+	 *         highest fitness.
+	 */
+	public int getBestScore();
+
+	/**
+	 * @return The diversity of the most recent generation, from 0 when every
+	 *         individual is the same.
+	 */
+	public double getPopulationDiversity();
+
+	/**
+	 * @return The evaluations per second since the metrics were created or
+	 *         last reset. Reading it changes nothing.
+	 */
+	public double getEvaluationsPerSecond();
+
+	/**
+	 * Sets every counter back to zero.
+	 */
+	public void reset();
+}
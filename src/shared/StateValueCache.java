@@ -0,0 +1,222 @@
+package shared;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded cache of the values of byte[] states.
+ *
+ * States are packed into longs using only as many bits per cell as the
+ * largest value needs, so a 9x9 state takes four bits per free cell. The cache
+ * is split into segments chosen by the packed state's hash, each with its own
+ * lock, so concurrent searchers rarely wait on each other. Each segment evicts
+ * using CLOCK: a hit marks an entry as referenced, and the clock hand skips
+ * and clears referenced entries until it finds one to replace. Values are
+ * computed outside of the lock.
+ *
+ * @author Frank Dattalo
+ */
+public final class StateValueCache {
+
+	private static final int SEGMENTS = 16;
+
+	private final ToIntFunction<byte[]> evaluator;
+
+	private final int bitsPerValue;
+
+	private final Segment[] segments;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param capacity
+	 *            - the maximum number of states to hold.
+	 * @param maxValue
+	 *            - the largest value a cell of a state can hold.
+	 * @param evaluator
+	 *            - computes the value of states which are not cached.
+	 */
+	public StateValueCache(int capacity, int maxValue, ToIntFunction<byte[]> evaluator) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+
+		this.evaluator = evaluator;
+		this.bitsPerValue = 32 - Integer.numberOfLeadingZeros(maxValue);
+
+		segments = new Segment[Math.min(SEGMENTS, capacity)];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment(capacity / segments.length + (i < capacity % segments.length ? 1 : 0));
+		}
+	}
+
+	/**
+	 * @param state
+	 *            - the state to evaluate.
+	 * @return The cached value of state, computing and caching it on a miss.
+	 */
+	public int evaluate(byte[] state) {
+		final Key key = pack(state);
+		final Segment segment = segments[(key.hash & Integer.MAX_VALUE) % segments.length];
+
+		final Entry cached = segment.get(key);
+		if (cached != null) {
+			hits.increment();
+			return cached.value;
+		}
+
+		misses.increment();
+
+		final int value = evaluator.applyAsInt(state);
+		segment.put(new Entry(key, value));
+		return value;
+	}
+
+	/**
+	 * @return The number of evaluations answered from the cache.
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return The number of evaluations which had to be computed.
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return The fraction of evaluations answered from the cache.
+	 */
+	public double hitRate() {
+		final long hits = getHits();
+		final long total = hits + getMisses();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * @return The number of states currently cached.
+	 */
+	public int size() {
+		int ret = 0;
+		for (final Segment segment : segments) {
+			ret += segment.size();
+		}
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d hits, %d misses (%.1f%%), %d cached", getHits(), getMisses(), hitRate() * 100,
+				size());
+	}
+
+	private Key pack(byte[] state) {
+		final int perWord = 64 / bitsPerValue;
+		final long[] words = new long[(state.length + perWord - 1) / perWord];
+
+		for (int i = 0; i < state.length; i++) {
+			words[i / perWord] |= (long) state[i] << (i % perWord * bitsPerValue);
+		}
+
+		long hash = state.length;
+		for (final long word : words) {
+			hash = (hash ^ word) * 0x9E3779B97F4A7C15L;
+		}
+
+		return new Key(words, (int) (hash ^ hash >>> 32));
+	}
+
+	/**
+	 * A packed state.
+	 */
+	private static final class Key {
+		private final long[] words;
+		private final int hash;
+
+		private Key(long[] words, int hash) {
+			this.words = words;
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key && ((Key) o).hash == hash && Arrays.equals(((Key) o).words, words);
+		}
+	}
+
+	/**
+	 * A cached value, guarded by its segment's lock apart from the final
+	 * fields.
+	 */
+	private static final class Entry {
+		private final Key key;
+		private final int value;
+		private boolean referenced;
+
+		private Entry(Key key, int value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * A fixed size ring of entries with a CLOCK hand and an index from key to
+	 * entry.
+	 */
+	private static final class Segment {
+		private final Map<Key, Entry> index;
+		private final Entry[] ring;
+		private int size = 0;
+		private int hand = 0;
+
+		private Segment(int capacity) {
+			index = new HashMap<>(capacity * 2);
+			ring = new Entry[capacity];
+		}
+
+		private synchronized Entry get(Key key) {
+			final Entry ret = index.get(key);
+			if (ret != null) {
+				ret.referenced = true;
+			}
+			return ret;
+		}
+
+		private synchronized void put(Entry entry) {
+			if (index.containsKey(entry.key)) {
+				return;
+			}
+
+			if (size < ring.length) {
+				ring[size++] = entry;
+			} else {
+				while (ring[hand].referenced) {
+					ring[hand].referenced = false;
+					hand = (hand + 1) % ring.length;
+				}
+
+				index.remove(ring[hand].key);
+				ring[hand] = entry;
+				hand = (hand + 1) % ring.length;
+			}
+
+			index.put(entry.key, entry);
+		}
+
+		private synchronized int size() {
+			return size;
+		}
+	}
+}
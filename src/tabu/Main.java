@@ -0,0 +1,7 @@
+package tabu;
+
+public final class Main {
+	public static void main(String[] args) {
+		TestHarness.runTest(args[0]);
+	}
+}
@@ -0,0 +1,167 @@
+package tabu;
+
+import java.util.SplittableRandom;
+
+import shared.MoveProblem;
+import shared.Neighborhood;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
+import shared.Searcher;
+
+/**
+ * Tabu search algorithm implementation.
+ *
+ * Every iteration scores the whole neighborhood by delta and takes the best
+ * move which is not tabu, even when it makes the state worse, breaking ties
+ * at random. Taking a move makes the assignment it replaced tabu for a number
+ * of iterations, so the search cannot immediately walk back into the optimum
+ * it just left. A tabu move is still taken when it beats the best value found
+ * so far. The search stops at a terminating value, after its own number of
+ * iterations or once the budget is spent, returning the best state seen. The
+ * tabu memory is one int per neighborhood attribute holding the iteration the
+ * attribute stays tabu until, so every iteration costs the same and nothing is
+ * allocated while searching.
+ *
+ * @author Frank Dattalo
+ *
+ * @param <T>
+ *            The type of the problem
+ * @param <K>
+ *            The problem's state type
+ */
+public final class TabuSearcher<T extends MoveProblem<K>, K> implements Searcher<T, K> {
+
+	private final int maxIterations;
+
+	private final int tenure;
+
+	private final int tenureSpread;
+
+	private final SearchListener<K> listener;
+
+	private final SplittableRandom random;
+
+	/**
+	 * Creates a searcher with a tabu tenure of 10 to 15 iterations.
+	 *
+	 * @param maxIterations
+	 *            - the number of moves to take before giving up.
+	 */
+	public TabuSearcher(int maxIterations) {
+		this(maxIterations, 10, 5, SearchListener.none());
+	}
+
+	/**
+	 * @param maxIterations
+	 *            - the number of moves to take before giving up.
+	 * @param tenure
+	 *            - the minimum number of iterations a replaced assignment
+	 *            stays tabu.
+	 * @param tenureSpread
+	 *            - the largest random number of iterations added to tenure.
+	 * @param listener
+	 *            - notified after every move.
+	 */
+	public TabuSearcher(int maxIterations, int tenure, int tenureSpread, SearchListener<K> listener) {
+		this(maxIterations, tenure, tenureSpread, listener, new SplittableRandom());
+	}
+
+	/**
+	 * @param maxIterations
+	 *            - the number of moves to take before giving up.
+	 * @param tenure
+	 *            - the minimum number of iterations a replaced assignment
+	 *            stays tabu.
+	 * @param tenureSpread
+	 *            - the largest random number of iterations added to tenure.
+	 * @param listener
+	 *            - notified after every move.
+	 * @param seed
+	 *            - the seed of the searcher's random generator.
+	 */
+	public TabuSearcher(int maxIterations, int tenure, int tenureSpread, SearchListener<K> listener, long seed) {
+		this(maxIterations, tenure, tenureSpread, listener, new SplittableRandom(seed));
+	}
+
+	private TabuSearcher(int maxIterations, int tenure, int tenureSpread, SearchListener<K> listener,
+			SplittableRandom random) {
+		this.maxIterations = maxIterations;
+		this.tenure = tenure;
+		this.tenureSpread = tenureSpread;
+		this.listener = listener;
+		this.random = random;
+	}
+
+	@Override
+	public SearchResult<K> search(T problem, SearchBudget budget) {
+		final SearchBudget.Tracker tracker = budget.start();
+
+		final Neighborhood<K> neighborhood = problem.neighborhood(problem.getInitialState(random));
+
+		final int[] tabuUntil = new int[neighborhood.attributeCount()];
+
+		int value = neighborhood.value();
+
+		K best = null;
+		int bestValue = value;
+
+		/*
+		 * Whether the neighborhood holds the best state. The best state is only
+		 * copied when the search is about to move away from it.
+		 */
+		boolean atBest = true;
+
+		for (int iteration = 1; iteration <= maxIterations && !problem.terminatingValue(bestValue); iteration++) {
+			int chosen = -1;
+			int chosenValue = 0;
+			int ties = 0;
+
+			for (int move = 0; move < neighborhood.size(); move++) {
+				final int next = value + neighborhood.delta(move);
+
+				if (tabuUntil[neighborhood.attribute(move)] >= iteration && !problem.betterValue(next, bestValue)) {
+					continue;
+				}
+
+				if (chosen == -1 || problem.betterValue(next, chosenValue)) {
+					chosen = move;
+					chosenValue = next;
+					ties = 1;
+				} else if (next == chosenValue && random.nextInt(++ties) == 0) {
+					chosen = move;
+				}
+			}
+
+			final boolean more = tracker.spend(neighborhood.size());
+
+			if (chosen == -1) {
+				break;
+			}
+
+			if (atBest) {
+				best = neighborhood.state();
+				atBest = false;
+			}
+
+			tabuUntil[neighborhood.replacedAttribute(chosen)] = iteration + tenure + random.nextInt(tenureSpread + 1);
+
+			neighborhood.apply(chosen);
+			value = chosenValue;
+
+			if (problem.betterValue(value, bestValue)) {
+				bestValue = value;
+				atBest = true;
+			}
+
+			listener.iteration(iteration, neighborhood.size(), value, neighborhood::state);
+
+			if (!more) {
+				break;
+			}
+		}
+
+		final K ret = atBest ? neighborhood.state() : best;
+		return tracker.result(ret, bestValue, problem.terminatingValue(bestValue));
+	}
+}
@@ -0,0 +1,20 @@
+package tabu;
+
+import shared.Board;
+import shared.ConstraintPropagator;
+import shared.ProgressSearchListener;
+import shared.Sodoku;
+
+public final class TestHarness {
+	public static void runTest(String fileName) {
+		final Sodoku s = new Sodoku(ConstraintPropagator.propagate(Board.create(fileName)));
+		final TabuSearcher<Sodoku, byte[]> ts = new TabuSearcher<>(1_000_000, 10, 5,
+				new ProgressSearchListener<>(System.out, 1000));
+		final byte[] state = ts.search(s);
+
+		System.out.println();
+		System.out.printf("Final value: %d\n", s.evaluateState(state));
+		System.out.println("Board:");
+		System.out.println(s.getBoard().mergeWithVector(state));
+	}
+}
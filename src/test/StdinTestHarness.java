@@ -10,14 +10,13 @@ public class StdinTestHarness {
 	
 	public static void main(String[] args) {
 		Scanner in = new Scanner(System.in);
-		System.out.print("hc/ga?> ");
+		System.out.print("hc/ga/ex/sa/ts?> ");
 		
 		String line = in.nextLine();
-		boolean hc = false;
+		String algorithm = line;
 		
-		if(line.equals("hc")) {
-			hc = true;
-		} else if (!line.equals("ga")) {
+		if (!line.equals("hc") && !line.equals("ga") && !line.equals("ex") && !line.equals("sa")
+				&& !line.equals("ts")) {
 			System.err.println("Invalid option");
 			in.close();
 			System.exit(1);
@@ -26,8 +25,14 @@ public class StdinTestHarness {
 		System.out.print("file location?> ");
 		line = in.nextLine();
 		
-		if(hc) {
+		if(algorithm.equals("hc")) {
 			hillclimb.TestHarness.runTest(line);
+		} else if(algorithm.equals("ex")) {
+			exact.TestHarness.runTest(line);
+		} else if(algorithm.equals("sa")) {
+			annealing.TestHarness.runTest(line);
+		} else if(algorithm.equals("ts")) {
+			tabu.TestHarness.runTest(line);
 		} else {
 			genetic.TestHarness.runTest(line);
 		}
@@ -0,0 +1,45 @@
+package test;
+
+import genetic.AdaptiveController;
+
+/**
+ * Test case to test the mutation rate, immigrants and population size chosen
+ * by the adaptive controller of the genetic algorithm.
+ * @author Frank Dattalo
+ */
+public class TestAdaptiveController {
+	public static void main(String[] args) {
+		AdaptiveController controller = new AdaptiveController(5, 0.6, 0.2);
+
+		/* No raise before a full patience of stagnant generations, then doubling per patience. */
+		check("mutation rate before patience", controller.mutationRate(0.1, 0) == 0.1
+				&& controller.mutationRate(0.1, 4) == 0.1);
+		check("mutation rate doubles", controller.mutationRate(0.1, 5) == 0.2
+				&& controller.mutationRate(0.1, 9) == 0.2 && controller.mutationRate(0.1, 10) == 0.4);
+
+		/* Doubling stops at the maximum, however long the search stagnates. */
+		check("mutation rate capped", controller.mutationRate(0.1, 15) == 0.6
+				&& controller.mutationRate(0.1, 5000) == 0.6);
+		check("mutation rate never lowered", controller.mutationRate(0.8, 10) == 0.8);
+
+		boolean multiples = true;
+		for (int stagnant = 0; stagnant <= 30; stagnant++) {
+			int expected = stagnant > 0 && stagnant % 5 == 0 ? 10 : 0;
+			multiples &= controller.immigrants(50, stagnant) == expected;
+		}
+		check("immigrants on multiples of patience", multiples);
+		check("immigrants within population", new AdaptiveController(1, 0.6, 2).immigrants(50, 1) == 50);
+
+		AdaptiveController none = AdaptiveController.none();
+		check("none keeps rate and population", none.mutationRate(0.1, 1000000) == 0.1
+				&& none.immigrants(50, 1000000) == 0);
+
+		check("population size clamped", AdaptiveController.populationSize(0) == 10
+				&& AdaptiveController.populationSize(19) == 10 && AdaptiveController.populationSize(100) == 50
+				&& AdaptiveController.populationSize(400) == 200 && AdaptiveController.populationSize(2401) == 200);
+	}
+
+	public static void check(String name, boolean passed) {
+		System.out.println((passed ? "PASSED " : "FAILED ") + name);
+	}
+}
@@ -0,0 +1,58 @@
+package test;
+
+import exact.BacktrackingSearcher;
+import shared.Board;
+import shared.SearchBudget;
+import shared.SearchResult;
+import shared.SearchResult.Outcome;
+import shared.Sodoku;
+
+/**
+ * Test case to test that backtracking returns a solution when there is one,
+ * and a legal best effort state when there is none.
+ * @author Frank Dattalo
+ */
+public class TestBacktrackingSearcher {
+	public static void main(String[] args) {
+		test("empty 9x9", Board.create(new int[9][9]), SearchBudget.unlimited(), Outcome.SOLVED);
+		test("./test/test1.txt", Board.create("./test/test1.txt"), SearchBudget.unlimited(), Outcome.SOLVED);
+
+		/* Stopped before reaching the last of its 1296 cells. */
+		test("empty 36x36 out of budget", Board.create(new int[36][36]), SearchBudget.ofEvaluations(1024),
+				Outcome.OUT_OF_EVALUATIONS);
+
+		/* Consistent givens, but the last cell of the first line has no value left. */
+		int[][] blocked = new int[9][9];
+		for (int i = 0; i < 8; i++) {
+			blocked[0][i] = i + 1;
+		}
+		blocked[5][8] = 9;
+		test("blocked cell", Board.create(blocked), SearchBudget.unlimited(), Outcome.GAVE_UP);
+
+		int[][] repeated = new int[9][9];
+		repeated[0][0] = 1;
+		repeated[0][8] = 1;
+		test("repeated given", Board.create(repeated), SearchBudget.unlimited(), Outcome.GAVE_UP);
+	}
+
+	public static void test(String name, Board board, SearchBudget budget, Outcome expected) {
+		Sodoku problem = new Sodoku(board);
+		SearchResult<byte[]> result = new BacktrackingSearcher<Sodoku>().search(problem, budget);
+		byte[] state = result.getState();
+
+		for (byte value : state) {
+			if (value < 1 || value > board.getDimension()) {
+				System.out.println("FAILED " + name + ": state holds " + value);
+				return;
+			}
+		}
+
+		if (result.getValue() != Sodoku.countConflicts(board.mergeWithVector(state))
+				|| (result.getValue() == 0) != (expected == Outcome.SOLVED) || result.getOutcome() != expected) {
+			System.out.println("FAILED " + name + ": " + result.getOutcome() + " with value " + result.getValue());
+			return;
+		}
+
+		System.out.println("PASSED " + name + ": " + result.getOutcome() + " with value " + result.getValue());
+	}
+}
@@ -0,0 +1,44 @@
+package test;
+
+import java.util.SplittableRandom;
+
+import shared.Board;
+import shared.ConflictCounter;
+import shared.Sodoku;
+
+/**
+ * Test case to test the bitmask conflict counter against a full rescan.
+ * @author Frank Dattalo
+ */
+public class TestConflictCounter {
+	public static void main(String[] args) {
+		test("./test/test1.txt", Board.create("./test/test1.txt"));
+		test("./test/test3.txt", Board.create("./test/test3.txt"));
+		test("./test/test5.txt", Board.create("./test/test5.txt"));
+		test("empty 16x16", Board.create(new int[16][16]));
+		test("empty 25x25", Board.create(new int[25][25]));
+	}
+
+	public static void test(String name, Board board) {
+		Sodoku problem = new Sodoku(board);
+		ConflictCounter counter = new ConflictCounter(board);
+		SplittableRandom random = new SplittableRandom(7);
+
+		for (int i = 0; i < 1000; i++) {
+			byte[] state = problem.getInitialState(random);
+
+			/* Random states are nearly all conflicts, so also try some with duplicates removed. */
+			for (int k = 1; k < state.length && i % 2 == 0; k++) {
+				state[k] = (byte) (state[k - 1] % board.getDimension() + 1);
+			}
+
+			int expected = Sodoku.countConflicts(board.mergeWithVector(state));
+			if (counter.count(state) != expected || problem.evaluateState(state) != expected) {
+				System.out.println("FAILED " + name + ": " + counter.count(state) + " != " + expected);
+				return;
+			}
+		}
+
+		System.out.println("PASSED " + name);
+	}
+}
@@ -0,0 +1,40 @@
+package test;
+
+import java.util.SplittableRandom;
+
+import shared.ConflictTable;
+import shared.Sodoku;
+
+/**
+ * Test case to test the incremental conflict table against a full rescan.
+ * @author Frank Dattalo
+ */
+public class TestConflictTable {
+	public static void main(String[] args) {
+		test("./test/test1.txt");
+		test("./test/test3.txt");
+	}
+
+	public static void test(String fileName) {
+		Sodoku problem = new Sodoku(fileName);
+		byte[] state = problem.getInitialState(new SplittableRandom());
+		ConflictTable table = problem.conflictTable(state);
+
+		for (int i = 0; i < 1000; i++) {
+			int k = (int) (Math.random() * state.length);
+			int value = 1 + (int) (Math.random() * problem.getBoard().getDimension());
+
+			int predicted = problem.scoreAfterChange(table, k, value);
+			state[k] = (byte) value;
+			table.change(problem.getBoard().getFreeX(k), problem.getBoard().getFreeY(k), value);
+
+			int expected = Sodoku.countConflicts(problem.getBoard().mergeWithVector(state));
+			if (predicted != expected || table.getScore() != expected) {
+				System.out.println("FAILED " + fileName + ": " + predicted + " != " + expected);
+				return;
+			}
+		}
+
+		System.out.println("PASSED " + fileName);
+	}
+}
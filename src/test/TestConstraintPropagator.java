@@ -0,0 +1,106 @@
+package test;
+
+import java.io.File;
+
+import shared.Board;
+import shared.CellEncoding;
+import shared.ConstraintPropagator;
+import shared.Sodoku;
+import shared.SodokuCorpusReader;
+
+/**
+ * Test case to test constraint propagation on the corpus boards.
+ * @author Frank Dattalo
+ */
+public class TestConstraintPropagator {
+
+	/**
+	 * The free cells left after propagating each corpus board. The last one is
+	 * built to need search, so no singles can be found.
+	 */
+	private static final int[] CORPUS_FREE = { 0, 0, 0, 60 };
+
+	public static void main(String[] args) {
+		File corpus = new File("./test/corpus/puzzles9.txt");
+		int[] index = { 0 };
+		SodokuCorpusReader.forEach(corpus, CellEncoding.DIGITS, board -> test("corpus " + index[0], board, CORPUS_FREE[index[0]++]));
+		test("./test/test1.txt", Board.create("./test/test1.txt"), 0);
+		test("empty 36x36", Board.create(new int[36][36]), 36 * 36);
+
+		Board large = Board.create(new int[64][64]);
+		if (ConstraintPropagator.propagate(large) == large) {
+			System.out.println("PASSED empty 64x64 unchanged");
+		} else {
+			System.out.println("FAILED empty 64x64 unchanged");
+		}
+	}
+
+	/**
+	 * @param expectedFree
+	 *            - the free cells propagation must leave.
+	 */
+	public static void test(String name, Board board, int expectedFree) {
+		Board propagated = ConstraintPropagator.propagate(board);
+		int dim = board.getDimension();
+
+		for (int x = 0; x < dim; x++) {
+			for (int y = 0; y < dim; y++) {
+				if (board.getValue(x, y) != 0 && propagated.getValue(x, y) != board.getValue(x, y)) {
+					System.out.println("FAILED " + name + ": given at " + x + ", " + y + " changed");
+					return;
+				}
+			}
+		}
+
+		int before = board.getFreeCellCount();
+		int after = propagated.getFreeCellCount();
+		if (after != expectedFree) {
+			System.out.println("FAILED " + name + ": free cells " + before + " -> " + after + ", expected " + expectedFree);
+			return;
+		}
+
+		int conflicts = after == 0 ? Sodoku.countConflicts(propagated) : countFilledConflicts(propagated);
+		if (conflicts != 0) {
+			System.out.println("FAILED " + name + ": " + conflicts + " conflicts");
+			return;
+		}
+
+		System.out.println("PASSED " + name + " (free cells " + before + " -> " + after + ")");
+	}
+
+	/**
+	 * @return The number of repeated non-empty values in the rows, columns
+	 *         and boxes of b.
+	 */
+	private static int countFilledConflicts(Board b) {
+		int dim = b.getDimension();
+		int partitionSize = (int) Math.sqrt(dim);
+		int ret = 0;
+
+		for (int unit = 0; unit < dim; unit++) {
+			boolean[] row = new boolean[dim + 1];
+			boolean[] column = new boolean[dim + 1];
+			boolean[] box = new boolean[dim + 1];
+
+			for (int k = 0; k < dim; k++) {
+				int boxX = (unit / partitionSize) * partitionSize + k / partitionSize;
+				int boxY = (unit % partitionSize) * partitionSize + k % partitionSize;
+
+				ret += repeated(row, b.getValue(k, unit));
+				ret += repeated(column, b.getValue(unit, k));
+				ret += repeated(box, b.getValue(boxX, boxY));
+			}
+		}
+
+		return ret;
+	}
+
+	private static int repeated(boolean[] seen, int value) {
+		if (value == 0) {
+			return 0;
+		}
+		int ret = seen[value] ? 1 : 0;
+		seen[value] = true;
+		return ret;
+	}
+}
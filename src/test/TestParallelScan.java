@@ -0,0 +1,51 @@
+package test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import hillclimb.HillClimbSearcher;
+import shared.Board;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
+import shared.Sodoku;
+
+/**
+ * Test case to test that splitting each step's neighborhood scan across a
+ * fork join pool climbs to exactly the state a sequential scan does.
+ * @author Frank Dattalo
+ */
+public class TestParallelScan {
+	public static void main(String[] args) {
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try {
+			/* Both boards have well over the 1024 moves needed to scan on the pool. */
+			test("empty 16x16", Board.create(new int[16][16]), pool);
+			test("empty 25x25", Board.create(new int[25][25]), pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	public static void test(String name, Board board, ForkJoinPool pool) {
+		Sodoku problem = new Sodoku(board);
+		SearchBudget budget = SearchBudget.ofEvaluations(5000000);
+
+		for (long seed = 1; seed <= 3; seed++) {
+			SearchResult<byte[]> sequential = new HillClimbSearcher<Sodoku, byte[]>(0, SearchListener.none(), seed)
+					.search(problem, budget);
+			SearchResult<byte[]> pooled = new HillClimbSearcher<Sodoku, byte[]>(0, pool, SearchListener.none(), seed)
+					.search(problem, budget);
+
+			if (!Arrays.equals(sequential.getState(), pooled.getState())
+					|| sequential.getValue() != pooled.getValue()) {
+				System.out.println("FAILED " + name + ": seed " + seed + " climbed to " + sequential.getValue()
+						+ " sequentially and " + pooled.getValue() + " on the pool");
+				return;
+			}
+		}
+
+		System.out.println("PASSED " + name);
+	}
+}
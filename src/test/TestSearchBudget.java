@@ -0,0 +1,66 @@
+package test;
+
+import java.util.concurrent.TimeUnit;
+
+import genetic.GeneticAlgorithmSearcher;
+import genetic.IslandGeneticAlgorithmSearcher;
+import hillclimb.ParallelHillClimbSearcher;
+import shared.Board;
+import shared.CancellationToken;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
+import shared.Searcher;
+import shared.SodokuGA;
+import tabu.TabuSearcher;
+
+/**
+ * Test case to test that searches on a board they cannot quickly solve return
+ * their best state once the budget is spent.
+ * @author Frank Dattalo
+ */
+public class TestSearchBudget {
+	public static void main(String[] args) {
+		SodokuGA problem = new SodokuGA("./test/test2.txt");
+		SodokuGA hard = new SodokuGA(Board.create(new int[25][25]));
+
+		test("time", new GeneticAlgorithmSearcher<>(10), hard, SearchBudget.ofTime(200, TimeUnit.MILLISECONDS),
+				SearchResult.Outcome.TIMED_OUT);
+		test("evaluations", new GeneticAlgorithmSearcher<>(10), hard, SearchBudget.ofEvaluations(5000),
+				SearchResult.Outcome.OUT_OF_EVALUATIONS);
+		test("islands", new IslandGeneticAlgorithmSearcher<>(4, 10, 10, IslandGeneticAlgorithmSearcher.Topology.RING),
+				hard, SearchBudget.ofTime(200, TimeUnit.MILLISECONDS), SearchResult.Outcome.TIMED_OUT);
+		test("parallel", new ParallelHillClimbSearcher<>(1000000), hard, SearchBudget.ofEvaluations(100000),
+				SearchResult.Outcome.OUT_OF_EVALUATIONS);
+		test("tabu", new TabuSearcher<>(100000000), hard, SearchBudget.ofTime(200, TimeUnit.MILLISECONDS),
+				SearchResult.Outcome.TIMED_OUT);
+
+		CancellationToken token = new CancellationToken();
+		new Thread(() -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			token.cancel();
+		}).start();
+		test("cancel", new GeneticAlgorithmSearcher<>(10), hard, SearchBudget.unlimited().withToken(token),
+				SearchResult.Outcome.CANCELLED);
+
+		test("solved", new GeneticAlgorithmSearcher<>(10, SearchListener.none()), problem,
+				SearchBudget.ofTime(1, TimeUnit.MINUTES), SearchResult.Outcome.SOLVED);
+	}
+
+	public static void test(String name, Searcher<SodokuGA, byte[]> searcher, SodokuGA problem, SearchBudget budget,
+			SearchResult.Outcome expected) {
+		SearchResult<byte[]> result = searcher.search(problem, budget);
+
+		if (result.getOutcome() != expected || result.getValue() != problem.evaluateState(result.getState())
+				|| result.getNanos() > TimeUnit.SECONDS.toNanos(30)) {
+			System.out.println("FAILED " + name + ": " + result);
+			return;
+		}
+
+		System.out.println("PASSED " + name + ": " + result);
+	}
+}
@@ -0,0 +1,127 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import shared.Board;
+import shared.CellEncoding;
+import shared.SodokuCorpusReader;
+
+/**
+ * Test case to test reading of one-puzzle-per-line corpora in every encoding.
+ * @author Frank Dattalo
+ */
+public class TestSodokuCorpusReader {
+
+	/**
+	 * Known cells of ./test/corpus/puzzles9.txt as {board, line index, value}.
+	 */
+	private static final int[][] CELLS = {
+			{ 0, 0, 0 }, { 0, 2, 3 }, { 0, 4, 2 }, { 0, 9, 9 }, { 0, 80, 0 },
+			{ 1, 0, 2 }, { 1, 80, 3 },
+			{ 2, 0, 4 }, { 2, 6, 8 }, { 2, 8, 5 },
+			{ 3, 0, 8 }, { 3, 78, 4 } };
+
+	public static void main(String[] args) throws IOException {
+		List<String> lines = new ArrayList<String>();
+		for (String line : Files.readAllLines(new File("./test/corpus/puzzles9.txt").toPath())) {
+			if (!line.isEmpty() && line.charAt(0) != '#') {
+				lines.add(line);
+			}
+		}
+
+		test("puzzles9.txt", CellEncoding.DIGITS, new File("./test/corpus/puzzles9.txt"));
+
+		for (CellEncoding encoding : CellEncoding.values()) {
+			File f = File.createTempFile("corpus", ".txt");
+			try {
+				Files.write(f.toPath(), encode(lines, encoding).getBytes(StandardCharsets.US_ASCII));
+				test("rewritten " + encoding, encoding, f);
+			} finally {
+				f.delete();
+			}
+		}
+
+		/* A damaged cell must be rejected rather than read as an empty one. */
+		String first = lines.get(0);
+		testMalformed("DIGITS with '?'", CellEncoding.DIGITS, "?" + first.substring(1));
+		testMalformed("DIGITS with 'A'", CellEncoding.DIGITS, "A" + first.substring(1));
+		testMalformed("LETTERS with '5'", CellEncoding.LETTERS, "5" + first.substring(1).replaceAll("[1-9]", "A"));
+		testMalformed("DELIMITED with '?'", CellEncoding.DELIMITED, "?" + first.substring(1).replaceAll(".", ",$0"));
+	}
+
+	private static void testMalformed(String name, CellEncoding encoding, String line) throws IOException {
+		File f = File.createTempFile("corpus", ".txt");
+		try {
+			Files.write(f.toPath(), line.getBytes(StandardCharsets.US_ASCII));
+			SodokuCorpusReader.forEach(f, encoding, board -> {
+			});
+			System.out.println("FAILED malformed " + name + ": line was read");
+		} catch (IllegalArgumentException e) {
+			System.out.println("PASSED malformed " + name);
+		} finally {
+			f.delete();
+		}
+	}
+
+	/**
+	 * Rewrites digit lines in another encoding, with a comment and a blank line
+	 * that should be skipped.
+	 */
+	private static String encode(List<String> lines, CellEncoding encoding) {
+		StringBuilder ret = new StringBuilder("# ").append(encoding).append("\n\n");
+
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+			for (int k = 0; k < line.length(); k++) {
+				int value = Character.isDigit(line.charAt(k)) ? line.charAt(k) - '0' : 0;
+				switch (encoding) {
+				case DIGITS:
+				case ALPHANUMERIC:
+					ret.append(value == 0 ? '.' : (char) ('0' + value));
+					break;
+				case LETTERS:
+					/* Alternate the case of the lines to check both are read. */
+					ret.append(value == 0 ? '.' : (char) ((i % 2 == 0 ? 'A' : 'a') + value - 1));
+					break;
+				case DELIMITED:
+					ret.append(k == 0 ? "" : (k % 2 == 0 ? "," : " ")).append(value);
+					break;
+				}
+			}
+			ret.append('\n');
+		}
+
+		return ret.toString();
+	}
+
+	private static void test(String name, CellEncoding encoding, File f) {
+		List<Board> boards = new ArrayList<Board>();
+		long count = SodokuCorpusReader.forEach(f, encoding, boards::add);
+
+		if (count != 4 || boards.size() != 4) {
+			System.out.println("FAILED " + name + ": " + count + " boards read, expected 4");
+			return;
+		}
+
+		for (int[] cell : CELLS) {
+			Board board = boards.get(cell[0]);
+			int dim = board.getDimension();
+			int x = cell[1] % dim;
+			int y = dim - 1 - cell[1] / dim;
+
+			if (dim != 9 || board.getValue(x, y) != cell[2]) {
+				System.out.println("FAILED " + name + ": board " + cell[0] + " cell " + cell[1] + " is "
+						+ board.getValue(x, y) + ", expected " + cell[2]);
+				return;
+			}
+		}
+
+		System.out.println("PASSED " + name);
+	}
+}
@@ -0,0 +1,70 @@
+package test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import shared.Board;
+import shared.Neighborhood;
+import shared.Sodoku;
+import shared.SodokuPermutationGA;
+
+/**
+ * Test case to test move deltas, attributes, apply and undo against full evaluation.
+ * @author Frank Dattalo
+ */
+public class TestSodokuNeighborhood {
+	public static void main(String[] args) {
+		test("./test/test1.txt", new Sodoku("./test/test1.txt"));
+		test("./test/test3.txt", new Sodoku("./test/test3.txt"));
+		test("box swaps ./test/test1.txt", new SodokuPermutationGA("./test/test1.txt"));
+		test("box swaps ./test/test3.txt", new SodokuPermutationGA("./test/test3.txt"));
+		test("box swaps empty 9x9", new SodokuPermutationGA(Board.create(new int[9][9])));
+	}
+
+	public static void test(String fileName, Sodoku problem) {
+		Neighborhood<byte[]> neighborhood = problem.neighborhood(problem.getInitialState(new SplittableRandom()));
+		int dimension = problem.getBoard().getDimension();
+
+		for (int i = 0; i < 1000; i++) {
+			byte[] before = neighborhood.state();
+			int move = (int) (Math.random() * neighborhood.size());
+			int predicted = neighborhood.value() + neighborhood.delta(move);
+			int attribute = neighborhood.attribute(move);
+			int replaced = neighborhood.replacedAttribute(move);
+
+			neighborhood.apply(move);
+			byte[] after = neighborhood.state();
+
+			if (predicted != problem.evaluateState(after) || neighborhood.value() != predicted
+					|| Arrays.equals(before, after)) {
+				System.out.println("FAILED " + fileName + ": move " + move);
+				return;
+			}
+
+			if (attribute / dimension != replaced / dimension
+					|| after[attribute / dimension] != attribute % dimension + 1
+					|| before[replaced / dimension] != replaced % dimension + 1) {
+				System.out.println("FAILED " + fileName + ": attributes of move " + move);
+				return;
+			}
+
+			/* Box swaps keep every box free of conflicts, so their score is the full score. */
+			if (problem instanceof SodokuPermutationGA
+					&& predicted != Sodoku.countConflicts(problem.getBoard().mergeWithVector(after))) {
+				System.out.println("FAILED " + fileName + ": move " + move + " broke a box");
+				return;
+			}
+
+			if (i % 2 == 0) {
+				neighborhood.undo();
+				if (!Arrays.equals(before, neighborhood.state())
+						|| neighborhood.value() != problem.evaluateState(before)) {
+					System.out.println("FAILED " + fileName + ": undo of move " + move);
+					return;
+				}
+			}
+		}
+
+		System.out.println("PASSED " + fileName);
+	}
+}
@@ -0,0 +1,82 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import shared.Board;
+import shared.CellEncoding;
+import shared.FlushPolicy;
+import shared.SodokuCorpusReader;
+import shared.SolutionWriter;
+
+/**
+ * Test case to test that boards written by SolutionWriter read back the same,
+ * in every encoding, with and without a state merged in, and with a buffer
+ * too small for the whole corpus.
+ * @author Frank Dattalo
+ */
+public class TestSolutionWriter {
+	public static void main(String[] args) throws IOException {
+		final List<Board> boards = new ArrayList<>();
+		SodokuCorpusReader.forEach(new File("./test/corpus/puzzles9.txt"), CellEncoding.DIGITS, boards::add);
+
+		/* Fill the free cells with every value in turn, as a searcher's final state would. */
+		final List<byte[]> states = new ArrayList<>();
+		for (Board board : boards) {
+			byte[] state = new byte[board.getFreeCellCount()];
+			for (int k = 0; k < state.length; k++) {
+				state[k] = (byte) (k % board.getDimension() + 1);
+			}
+			states.add(state);
+		}
+
+		for (CellEncoding encoding : CellEncoding.values()) {
+			test(encoding, boards, null);
+			test(encoding, boards, states);
+		}
+	}
+
+	/**
+	 * @param states
+	 *            - the state to merge into each board, or null to write the
+	 *            boards as they are.
+	 */
+	public static void test(CellEncoding encoding, List<Board> boards, List<byte[]> states) throws IOException {
+		String name = encoding + (states == null ? " boards" : " merged states");
+		File f = File.createTempFile("solutions", ".txt");
+
+		try {
+			try (SolutionWriter out = new SolutionWriter(f, encoding, 256, FlushPolicy.everyLines(3))) {
+				for (int i = 0; i < boards.size(); i++) {
+					if (states == null) {
+						out.write(boards.get(i));
+					} else {
+						out.write(boards.get(i), states.get(i));
+					}
+				}
+			}
+
+			List<Board> read = new ArrayList<>();
+			SodokuCorpusReader.forEach(f, encoding, read::add);
+
+			if (read.size() != boards.size()) {
+				System.out.println("FAILED " + name + ": " + read.size() + " boards read back, expected " + boards.size());
+				return;
+			}
+
+			for (int i = 0; i < boards.size(); i++) {
+				Board expected = states == null ? boards.get(i) : boards.get(i).mergeWithVector(states.get(i));
+				if (!read.get(i).toString().equals(expected.toString())) {
+					System.out.println("FAILED " + name + ": board " + i + " read back as\n" + read.get(i));
+					return;
+				}
+			}
+
+			System.out.println("PASSED " + name);
+		} finally {
+			f.delete();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package test;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import genetic.GeneticAlgorithmSearcher;
+import hillclimb.HillClimbSearcher;
+import hillclimb.ParallelHillClimbSearcher;
+import shared.Board;
+import shared.SearchBudget;
+import shared.SearchListener;
+import shared.SearchResult;
+import shared.Sodoku;
+import shared.SodokuGA;
+import shared.SolverMetrics;
+
+/**
+ * Test case to test that the searchers publish their metrics through JMX.
+ * @author Frank Dattalo
+ */
+public class TestSolverMetrics {
+	public static void main(String[] args) throws Exception {
+		System.setProperty("geneticsodoku.metrics", "true");
+
+		new HillClimbSearcher<Sodoku, byte[]>(10).search(new Sodoku("./test/test3.txt"));
+		new GeneticAlgorithmSearcher<SodokuGA, byte[]>(10).search(new SodokuGA("./test/test1.txt"));
+
+		test("HillClimbSearcher", "SuccessorsGenerated");
+		test("GeneticAlgorithmSearcher", "Generations");
+
+		testBest();
+		testParallel();
+	}
+
+	/**
+	 * Parallel restarts must count as a search of their own, with restarts and a
+	 * best score, in the hill climbing metrics.
+	 */
+	public static void testParallel() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName("geneticsodoku:type=SolverMetrics,name=HillClimbSearcher");
+		server.invoke(name, "reset", null, null);
+
+		SearchResult<byte[]> result = new ParallelHillClimbSearcher<Sodoku, byte[]>(3, 2, SearchListener.none(), 1)
+				.search(new Sodoku(Board.create(new int[9][9])), SearchBudget.ofEvaluations(5000000));
+
+		long searches = (Long) server.getAttribute(name, "Searches");
+		long restarts = (Long) server.getAttribute(name, "Restarts");
+		long successors = (Long) server.getAttribute(name, "SuccessorsGenerated");
+		int best = (Integer) server.getAttribute(name, "BestScore");
+
+		/* An empty 9x9 board is rarely climbed to a solution, so restarts are needed. */
+		if (searches != 1 || restarts == 0 || successors == 0 || best != result.getValue()) {
+			System.out.println("FAILED parallel: " + searches + " searches, " + restarts + " restarts, " + successors
+					+ " SuccessorsGenerated, best score " + best);
+			return;
+		}
+
+		System.out.println("PASSED parallel: " + restarts + " restarts, best score " + best);
+	}
+
+	/**
+	 * Searches finishing in any order must leave the best of their values.
+	 */
+	public static void testBest() {
+		Sodoku problem = new Sodoku("./test/test3.txt");
+		SolverMetrics values = SolverMetrics.forSearcher("TestBestValue");
+		SolverMetrics fitnesses = SolverMetrics.forSearcher("TestBestFitness");
+
+		for (int score : new int[] { 5, 2, 7 }) {
+			values.best(score, problem);
+			fitnesses.bestFitness(score);
+		}
+
+		if (values.getBestScore() != 2 || fitnesses.getBestScore() != 7) {
+			System.out.println("FAILED best: " + values.getBestScore() + " value, " + fitnesses.getBestScore()
+					+ " fitness");
+			return;
+		}
+
+		values.reset();
+		values.best(9, problem);
+		if (values.getBestScore() != 9) {
+			System.out.println("FAILED best after reset: " + values.getBestScore());
+			return;
+		}
+
+		System.out.println("PASSED best");
+	}
+
+	public static void test(String searcher, String counter) throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName("geneticsodoku:type=SolverMetrics,name=" + searcher);
+
+		long searches = (Long) server.getAttribute(name, "Searches");
+		long evaluations = (Long) server.getAttribute(name, "Evaluations");
+		long count = (Long) server.getAttribute(name, counter);
+		double rate = (Double) server.getAttribute(name, "EvaluationsPerSecond");
+		double reread = (Double) server.getAttribute(name, "EvaluationsPerSecond");
+
+		/* Reading the rate must not restart it, so a second read still sees the searches. */
+		if (searches != 1 || evaluations == 0 || count == 0 || rate <= 0 || reread <= 0) {
+			System.out.println("FAILED " + searcher + ": " + searches + " searches, " + evaluations + " evaluations, "
+					+ count + " " + counter);
+			return;
+		}
+
+		System.out.println("PASSED " + searcher + ": " + evaluations + " evaluations, " + count + " " + counter
+				+ ", diversity " + server.getAttribute(name, "PopulationDiversity"));
+	}
+}
@@ -0,0 +1,45 @@
+package test;
+
+import java.util.SplittableRandom;
+
+import shared.SodokuGA;
+import shared.StateValueCache;
+
+/**
+ * Test case to test cached state values against direct evaluation, and that
+ * the cache stays within its capacity.
+ * @author Frank Dattalo
+ */
+public class TestStateValueCache {
+	public static void main(String[] args) {
+		test("./test/test1.txt", 16);
+		test("./test/test3.txt", 100);
+	}
+
+	public static void test(String fileName, int capacity) {
+		SodokuGA problem = new SodokuGA(fileName);
+		StateValueCache cache = new StateValueCache(capacity, problem.getBoard().getDimension(),
+				problem::evaluateState);
+		SplittableRandom random = new SplittableRandom(1);
+
+		byte[][] states = new byte[capacity * 2][];
+		for (int i = 0; i < states.length; i++) {
+			states[i] = problem.getInitialState(random);
+		}
+
+		for (int i = 0; i < 10000; i++) {
+			byte[] state = states[random.nextInt(states.length)].clone();
+			if (cache.evaluate(state) != problem.evaluateState(state) || cache.size() > capacity) {
+				System.out.println("FAILED " + fileName + ": " + cache);
+				return;
+			}
+		}
+
+		if (cache.getHits() == 0 || cache.getHits() + cache.getMisses() != 10000) {
+			System.out.println("FAILED " + fileName + ": " + cache);
+			return;
+		}
+
+		System.out.println("PASSED " + fileName + ": " + cache);
+	}
+}